@@ -173,8 +173,18 @@ const Cart = () => {
                             {item.description}
                           </p>
                           <p className="text-indigo-600 font-semibold">
-                            ₹{(item.price || 0).toFixed(2)}
+                            ₹{Number(item.price || 0).toFixed(2)}
                           </p>
+                          {item.priceChanged && (
+                            <p className="text-xs text-yellow-700">
+                              Price changed from ₹{Number(item.addedPrice || 0).toFixed(2)}
+                            </p>
+                          )}
+                          {item.outOfStock && (
+                            <p className="text-xs text-red-600">
+                              Only {Math.max(item.availableStock || 0, 0)} left in stock
+                            </p>
+                          )}
                         </div>
 
                         {/* Quantity Controls */}
@@ -269,7 +279,7 @@ const Cart = () => {
         isOpen={showPaymentModal}
         onClose={() => setShowPaymentModal(false)}
         orderId={currentOrder?.id}
-        amount={getCartTotal()}
+        amount={Number(currentOrder?.totalAmount) || 0}
         onPaymentSuccess={handlePaymentSuccess}
       />
     </div>
@@ -13,8 +13,8 @@ const Home = () => {
     const fetchProducts = async () => {
       try {
         setLoading(true);
-        const response = await productsAPI.getAll();
-        setProducts(response.data.slice(0, 6)); // Show only first 6 products
+        const response = await productsAPI.getAll({ size: 6 }); // Show only first 6 products
+        setProducts(response.data.content);
       } catch (error) {
         toast.error('Failed to load products');
       } finally {
@@ -15,6 +15,8 @@ import ImageWithFallback from '../components/ImageWithFallback';
 const Orders = () => {
   const [orders, setOrders] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const { user } = useAuth();
 
   useEffect(() => {
@@ -26,14 +28,17 @@ const Orders = () => {
 
       try {
         setLoading(true);
-        const response = await ordersAPI.getByUser(user.id);
+        // Newest first from the order summaries; further pages are fetched on demand
+        const response = await ordersAPI.getSummaries(user.id);
         // Ensure orders is always an array
-        const ordersData = Array.isArray(response.data) ? response.data : [];
+        const ordersData = Array.isArray(response.data?.content) ? response.data.content : [];
         setOrders(ordersData);
+        setNextCursor(response.data?.nextCursor ?? null);
       } catch (error) {
         console.error('Failed to load orders:', error);
         toast.error('Failed to load orders');
         setOrders([]);
+        setNextCursor(null);
       } finally {
         setLoading(false);
       }
@@ -42,6 +47,19 @@ const Orders = () => {
     fetchOrders();
   }, [user]);
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await ordersAPI.getSummaries(user.id, { after: nextCursor });
+      setOrders(prev => [...prev, ...(response.data?.content || [])]);
+      setNextCursor(response.data?.nextCursor ?? null);
+    } catch (error) {
+      toast.error('Failed to load orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const getStatusIcon = (status) => {
     if (!status) return <ShoppingBagIcon className="h-5 w-5 text-gray-500" />;
     
@@ -254,6 +272,17 @@ const Orders = () => {
                 </div>
               </div>
             ))}
+            {nextCursor && (
+              <div className="flex justify-center">
+                <button
+                  onClick={loadMore}
+                  disabled={loadingMore}
+                  className="px-6 py-2 border border-gray-300 rounded-md text-sm font-medium text-gray-700 bg-white hover:bg-gray-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500 disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </div>
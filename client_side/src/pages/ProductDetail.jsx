@@ -25,8 +25,14 @@ const ProductDetail = () => {
     const fetchProduct = async () => {
       try {
         setLoading(true);
-        const response = await productsAPI.getById(id);
-        setProduct(response.data);
+        // Stock shown is available-to-sell (on hand minus checkout holds), fetched alongside the cached product
+        const [response, availability] = await Promise.all([
+          productsAPI.getById(id),
+          productsAPI.getAvailability(id).catch(() => null),
+        ]);
+        setProduct(availability
+          ? { ...response.data, stock: availability.data.available }
+          : response.data);
       } catch (error) {
         toast.error('Failed to load product details');
       } finally {
@@ -5,106 +5,104 @@ import ProductCard from '../components/ProductCard';
 import { MagnifyingGlassIcon, FunnelIcon } from '@heroicons/react/24/outline';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 24;
+
+const SORT_PARAMS = {
+  'name': 'name',
+  'price-low': 'price,asc',
+  'price-high': 'price,desc',
+  'stock': 'stock,desc',
+};
+
 const Products = () => {
   const [products, setProducts] = useState([]);
-  const [filteredProducts, setFilteredProducts] = useState([]);
+  const [totalProducts, setTotalProducts] = useState(0);
+  const [page, setPage] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
+  const [debouncedSearch, setDebouncedSearch] = useState('');
   const [selectedCategory, setSelectedCategory] = useState('');
   const [sortBy, setSortBy] = useState('name');
   const [showFilters, setShowFilters] = useState(false);
+  const [categories, setCategories] = useState([]);
 
   useEffect(() => {
-    const fetchProducts = async () => {
+    const fetchCategories = async () => {
       try {
-        setLoading(true);
-        const response = await productsAPI.getAll();
-        setProducts(response.data);
-        setFilteredProducts(response.data);
+        const response = await productsAPI.getCategories();
+        setCategories(response.data);
       } catch (error) {
-        toast.error('Failed to load products');
-      } finally {
-        setLoading(false);
+        // The category filter is optional; the product grid still works without it
+        setCategories([]);
       }
     };
 
-    fetchProducts();
+    fetchCategories();
   }, []);
 
+  // Avoid a request per keystroke while the user is typing
   useEffect(() => {
-    let filtered = [...products];
-
-    // Filter by search term (including category search)
-    if (searchTerm) {
-      const searchLower = searchTerm.toLowerCase();
-      filtered = filtered.filter(product => {
-        // Check product name and description (handle null/undefined)
-        const nameMatch = product.name ? product.name.toLowerCase().includes(searchLower) : false;
-        const descriptionMatch = product.description ? product.description.toLowerCase().includes(searchLower) : false;
-        
-        // Check categories
-        let categoryMatch = false;
-        if (product.categories && Array.isArray(product.categories)) {
-          categoryMatch = product.categories.some(category => 
-            category && category.toLowerCase().includes(searchLower)
-          );
-        } else if (product.category) {
-          categoryMatch = product.category.toLowerCase().includes(searchLower);
-        }
-        
-        return nameMatch || descriptionMatch || categoryMatch;
+    const timer = setTimeout(() => setDebouncedSearch(searchTerm.trim()), 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  const fetchPage = async (pageNumber) => {
+    // Search results come back ranked by relevance from the server-side index
+    if (debouncedSearch) {
+      const response = await productsAPI.search(debouncedSearch, {
+        limit: 50,
+        ...(selectedCategory && { category: selectedCategory }),
       });
+      return { content: response.data, page: 0, totalElements: response.data.length, last: true };
     }
 
-    // Filter by category
+    const params = {
+      page: pageNumber,
+      size: PAGE_SIZE,
+      sort: SORT_PARAMS[sortBy] || 'id',
+    };
     if (selectedCategory) {
-      filtered = filtered.filter(product => {
-        if (product.categories && Array.isArray(product.categories)) {
-          return product.categories.includes(selectedCategory);
-        } else if (product.category) {
-          return product.category === selectedCategory;
-        }
-        return false;
-      });
+      params.category = selectedCategory;
     }
+    const response = await productsAPI.getAll(params);
+    return response.data;
+  };
 
-    // Sort products
-    filtered.sort((a, b) => {
-      switch (sortBy) {
-        case 'name':
-          return (a.name || '').localeCompare(b.name || '');
-        case 'price-low':
-          return (a.price || 0) - (b.price || 0);
-        case 'price-high':
-          return (b.price || 0) - (a.price || 0);
-        case 'stock':
-          return (b.stock || 0) - (a.stock || 0);
-        default:
-          return 0;
-      }
-    });
-
-    setFilteredProducts(filtered);
-  }, [products, searchTerm, selectedCategory, sortBy]);
-
-  // Get all unique categories from products
-  const getAllCategories = () => {
-    const categorySet = new Set();
-    products.forEach(product => {
-      if (product.categories && Array.isArray(product.categories)) {
-        product.categories.forEach(category => {
-          if (category) {
-            categorySet.add(category);
-          }
-        });
-      } else if (product.category) {
-        categorySet.add(product.category);
+  // Filtering and sorting run on the server; reload from the first page when they change
+  useEffect(() => {
+    const fetchProducts = async () => {
+      try {
+        setLoading(true);
+        const data = await fetchPage(0);
+        setProducts(data.content);
+        setTotalProducts(data.totalElements);
+        setPage(0);
+        setHasMore(!data.last);
+      } catch (error) {
+        toast.error('Failed to load products');
+      } finally {
+        setLoading(false);
       }
-    });
-    return Array.from(categorySet).sort();
-  };
+    };
 
-  const categories = getAllCategories();
+    fetchProducts();
+  }, [debouncedSearch, selectedCategory, sortBy]);
+
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const data = await fetchPage(page + 1);
+      setProducts(prev => [...prev, ...data.content]);
+      setPage(data.page);
+      setHasMore(!data.last);
+    } catch (error) {
+      toast.error('Failed to load products');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const clearFilters = () => {
     setSearchTerm('');
@@ -203,7 +201,7 @@ const Products = () => {
         {/* Results Count */}
         <div className="mb-6">
           <p className="text-gray-600">
-            Showing {filteredProducts.length} of {products.length} products
+            Showing {products.length} of {totalProducts} products
           </p>
         </div>
 
@@ -212,12 +210,25 @@ const Products = () => {
           <div className="flex justify-center py-12">
             <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-indigo-600"></div>
           </div>
-        ) : filteredProducts.length > 0 ? (
-          <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
-            {filteredProducts.map((product) => (
-              <ProductCard key={product.id} product={product} />
-            ))}
-          </div>
+        ) : products.length > 0 ? (
+          <>
+            <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
+              {products.map((product) => (
+                <ProductCard key={product.id} product={product} />
+              ))}
+            </div>
+            {hasMore && (
+              <div className="flex justify-center mt-8">
+                <button
+                  onClick={loadMore}
+                  disabled={loadingMore}
+                  className="px-6 py-2 border border-gray-300 rounded-md text-sm font-medium text-gray-700 bg-white hover:bg-gray-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500 disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
+          </>
         ) : (
           <div className="text-center py-12">
             <div className="text-gray-400 mb-4">
@@ -66,8 +66,11 @@ export const authAPI = {
 
 // Products API
 export const productsAPI = {
-  getAll: () => api.get('/products'),
+  getAll: (params = {}) => api.get('/products', { params }),
+  getCategories: () => api.get('/products/categories'),
+  search: (q, params = {}) => api.get('/products/search', { params: { q, ...params } }),
   getById: (id) => api.get(`/products/${id}`),
+  getAvailability: (id) => api.get(`/products/${id}/availability`),
   create: (product) => api.post('/products', product),
   update: (id, product) => api.put(`/products/${id}`, product),
   delete: (id) => api.delete(`/products/${id}`),
@@ -87,9 +90,10 @@ export const cartAPI = {
 
 // Orders API
 export const ordersAPI = {
-  getAll: () => api.get('/orders'),
+  getAll: (params = {}) => api.get('/orders', { params }),
   getById: (id) => api.get(`/orders/${id}`),
   getByUser: (userId) => api.get(`/orders/user/${userId}`),
+  getSummaries: (userId, params = {}) => api.get(`/orders/user/${userId}/summaries`, { params }),
   placeOrder: (orderData) => api.post('/orders', orderData),
   checkout: (userId) => api.post(`/orders/checkout/${userId}`),
   updateStatus: (id, status) => api.put(`/orders/${id}/status`, { status }),
@@ -0,0 +1,62 @@
+// k6 load test for the shopping path: browse, cart and checkout. Run it once against the
+// platform-thread configuration and once with VIRTUAL_THREADS_ENABLED=true, same data and
+// same BASE_URL, and compare http_reqs/s and the p(99) of http_req_duration.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e USERNAME=loadtest -e PASSWORD=secret \
+//          -e PRODUCT_ID=1 loadtest/checkout.js
+//
+// CHECKOUT_RATE (default 0.1) is the share of iterations that end in a checkout; checkout
+// reserves stock, so give the product enough of it for the whole run.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const PRODUCT_ID = __ENV.PRODUCT_ID || '1';
+const CHECKOUT_RATE = parseFloat(__ENV.CHECKOUT_RATE || '0.1');
+
+export const options = {
+  scenarios: {
+    shoppers: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: parseInt(__ENV.VUS || '200') },
+        { duration: __ENV.DURATION || '2m', target: parseInt(__ENV.VUS || '200') },
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'logged in': (r) => r.status === 200 });
+  return { token: res.json('accessToken'), userId: res.json('userId') };
+}
+
+export default function (auth) {
+  const params = { headers: { Authorization: `Bearer ${auth.token}` } };
+
+  check(http.get(`${BASE_URL}/api/products?page=0&size=20`), { 'products 200': (r) => r.status === 200 });
+  check(http.get(`${BASE_URL}/api/products/${PRODUCT_ID}`), { 'product 200': (r) => r.status === 200 });
+  check(http.get(`${BASE_URL}/api/products/${PRODUCT_ID}/availability`), { 'availability 200': (r) => r.status === 200 });
+
+  check(http.post(`${BASE_URL}/api/cart/${auth.userId}/add/${PRODUCT_ID}?quantity=1`, null, params),
+    { 'add to cart 200': (r) => r.status === 200 });
+  check(http.get(`${BASE_URL}/api/cart/${auth.userId}`, params), { 'cart 200': (r) => r.status === 200 });
+
+  if (Math.random() < CHECKOUT_RATE) {
+    check(http.post(`${BASE_URL}/api/orders/checkout/${auth.userId}`, null, params),
+      { 'checkout 200': (r) => r.status === 200 });
+  } else {
+    http.del(`${BASE_URL}/api/cart/${auth.userId}/remove/${PRODUCT_ID}`, null, params);
+  }
+
+  sleep(0.5);
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.server_side.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one add-to-cart request on concurrent request threads, written to a real file.
+ * {@code before} is what the cart path used to log (INFO per request step and per cart item),
+ * {@code after} what it logs now (one request line, per-item detail at DEBUG). Each runs against
+ * a synchronous appender, the async appender used in production, and async with the cart logger
+ * switched to DEBUG under the production sampling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final String LOGGER = "com.ecommerce.server_side.service.implementation.CartServiceImplementation";
+
+    @Param({"SYNC", "ASYNC", "ASYNC_SAMPLED"})
+    private String appender;
+
+    @Param({"10"})
+    private int items;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{ISO8601} %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> target = fileAppender;
+        if (!"SYNC".equals(appender)) {
+            // Same settings as logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1024);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            target = async;
+        }
+        if ("ASYNC_SAMPLED".equals(appender)) {
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.addLogger(LOGGER);
+            sampling.setLevel("DEBUG");
+            sampling.setRate(10);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(target);
+        logger = context.getLogger(LOGGER);
+        if ("ASYNC_SAMPLED".equals(appender)) {
+            logger.setLevel(Level.DEBUG);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void before() {
+        logger.info("Fetching cart for user ID: {}", 42L);
+        logger.info("Mapping cart to DTO for user ID: {}", 42L);
+        for (int i = 0; i < items; i++) {
+            logger.info("Mapping cart item: productId={}, quantity={}, productName={}", (long) i, 1, "Product");
+        }
+        logger.info("Mapped cart DTO with {} items for user ID: {}", items, 42L);
+    }
+
+    @Benchmark
+    public void after() {
+        logger.info("Added product {} to cart for user ID: {}", 7L, 42L);
+        for (int i = 0; i < items; i++) {
+            logger.debug("Mapping cart item: productId={}, quantity={}, productName={}", (long) i, 1, "Product");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.server_side.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and the per-request parsing the auth filter does on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        // Normally injected from jwt.secret
+        Field secret = ReflectionUtils.findField(JwtUtil.class, "secret");
+        ReflectionUtils.makeAccessible(secret);
+        ReflectionUtils.setField(secret, jwtUtil, "benchmark-secret-key-that-is-at-least-32-bytes-long");
+        Field cacheSize = ReflectionUtils.findField(JwtUtil.class, "verifiedTokenCacheSize");
+        ReflectionUtils.makeAccessible(cacheSize);
+        ReflectionUtils.setField(cacheSize, jwtUtil, 10_000L);
+        jwtUtil.init();
+        token = jwtUtil.generateAccessToken("buyer", 1L, "USER");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken("buyer", 1L, "USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    // What JwtAuthFilter does for one authenticated request
+    @Benchmark
+    public Object filterParsePath() {
+        return jwtUtil.parseClaims(token).getSubject();
+    }
+
+    // A token seen for the first time: full signature check and claims parse
+    @Benchmark
+    public Object parseFreshToken(FreshToken fresh) {
+        return jwtUtil.parseClaims(fresh.token).getSubject();
+    }
+
+    @State(Scope.Thread)
+    public static class FreshToken {
+        private String token;
+
+        @Setup(Level.Invocation)
+        public void issue(JwtBenchmark benchmark) {
+            token = benchmark.jwtUtil.generateAccessToken("buyer-" + System.nanoTime(), 1L, "USER");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.CartDTO;
+import com.ecommerce.server_side.dto.CartItemDTO;
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.model.Category;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderItem;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Entity to DTO mapping on detached, fully initialised entities, so only the mapping itself
+ * (and the logging inside it) is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private Product product;
+    private Order order;
+    private List<CartItemDTO> cartLines;
+
+    @Setup
+    public void setUp() {
+        Set<Category> categories = IntStream.range(0, 3)
+                .mapToObj(i -> Category.builder().id((long) i).name("Category " + i).build())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Product> products = IntStream.range(0, lines)
+                .mapToObj(i -> Product.builder()
+                        .id((long) i)
+                        .name("Product " + i)
+                        .description("A reasonably long description for product " + i)
+                        .price(10.0 + i)
+                        .stock(100)
+                        .imageUrl("https://example.com/images/" + i + ".png")
+                        .categories(categories)
+                        .updatedAt(Instant.now())
+                        .build())
+                .toList();
+        product = products.get(0);
+
+        User user = User.builder().id(1L).username("buyer").role("USER").enabled(true).build();
+
+        order = Order.builder()
+                .id(1L)
+                .user(user)
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("100.00"))
+                .paymentStatus("PENDING")
+                .build();
+        order.setOrderItems(products.stream()
+                .map(p -> OrderItem.builder()
+                        .id(p.getId())
+                        .order(order)
+                        .product(p)
+                        .quantity(2)
+                        .unitPrice(BigDecimal.valueOf(p.getPrice()))
+                        .productName(p.getName())
+                        .productImageUrl(p.getImageUrl())
+                        .build())
+                .collect(Collectors.toList()));
+
+        // Lines as the cart view query returns them; evaluation fills in totals and flags
+        cartLines = products.stream()
+                .map(p -> CartItemDTO.builder()
+                        .productId(p.getId())
+                        .name(p.getName())
+                        .description(p.getDescription())
+                        .imageUrl(p.getImageUrl())
+                        .price(BigDecimal.valueOf(p.getPrice()))
+                        .addedPrice(BigDecimal.valueOf(p.getPrice()))
+                        .availableStock(p.getStock())
+                        .quantity(2)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public ProductDTO productMapToDto() {
+        return ProductServiceImplementation.mapToDto(product);
+    }
+
+    @Benchmark
+    public OrderDTO orderMapToDto() {
+        return OrderServiceImplementation.mapToDTO(order);
+    }
+
+    @Benchmark
+    public CartDTO cartEvaluate() {
+        return CartServiceImplementation.evaluate(1L, cartLines);
+    }
+}
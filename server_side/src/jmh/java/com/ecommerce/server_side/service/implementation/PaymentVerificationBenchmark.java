@@ -0,0 +1,83 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.PaymentVerificationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Razorpay checkout signature check (HMAC-SHA256 plus hex encoding and comparison).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentVerificationBenchmark {
+    private static final String KEY_ID = "rzp_test_benchmark";
+    private static final String KEY_SECRET = "benchmark_secret";
+
+    private PaymentServiceImplementation paymentService;
+    private PaymentVerificationRequest valid;
+    private PaymentVerificationRequest invalid;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Verification never touches the gateway client
+        paymentService = new PaymentServiceImplementation(null, null, new SimpleMeterRegistry());
+        setField(paymentService, "razorpayKeyId", KEY_ID);
+        setField(paymentService, "razorpayKeySecret", KEY_SECRET);
+        paymentService.init();
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = HexFormat.of().formatHex(
+                mac.doFinal("order_benchmark|pay_benchmark".getBytes(StandardCharsets.UTF_8)));
+
+        valid = request(signature);
+        invalid = request("0".repeat(signature.length()));
+    }
+
+    @Benchmark
+    public boolean verifyValidSignature() {
+        return paymentService.verifyPayment(valid);
+    }
+
+    @Benchmark
+    public boolean verifyInvalidSignature() {
+        return paymentService.verifyPayment(invalid);
+    }
+
+    // Stands in for the @Value injection of the razorpay.key.* properties
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private static PaymentVerificationRequest request(String signature) {
+        PaymentVerificationRequest request = new PaymentVerificationRequest();
+        request.setRazorpayOrderId("order_benchmark");
+        request.setRazorpayPaymentId("pay_benchmark");
+        request.setRazorpaySignature(signature);
+        request.setUserId(1L);
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.server_side.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCT_CACHE = "product";
+    public static final String PRODUCT_PAGE_CACHE = "productPages";
+    public static final String PRODUCT_CATEGORY_CACHE = "productCategories";
+
+    @Value("${cache.product.max-size:10000}")
+    private long productMaxSize;
+
+    @Value("${cache.product.ttl:10m}")
+    private Duration productTtl;
+
+    @Value("${cache.product-pages.max-size:1000}")
+    private long productPageMaxSize;
+
+    @Value("${cache.product-pages.ttl:2m}")
+    private Duration productPageTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRODUCT_CACHE, boundedCache(productMaxSize, productTtl));
+        cacheManager.registerCustomCache(PRODUCT_PAGE_CACHE, boundedCache(productPageMaxSize, productPageTtl));
+        cacheManager.registerCustomCache(PRODUCT_CATEGORY_CACHE, boundedCache(1, productTtl));
+        return cacheManager;
+    }
+
+    // recordStats() feeds the cache.gets / cache.evictions meters published through actuator
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> boundedCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.server_side.config;
+
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One RazorpayClient for the whole application. The SDK keeps a single static OkHttpClient and
+ * rebuilds it in every RazorpayClient constructor, so creating a client per payment threw away
+ * the connection pool and paid a fresh TLS handshake each time.
+ */
+@Configuration
+@Slf4j
+public class RazorpayConfig {
+    @Value("${razorpay.key.id:rzp_test_placeholder}")
+    private String razorpayKeyId;
+
+    @Value("${razorpay.key.secret:placeholder_secret}")
+    private String razorpayKeySecret;
+
+    @Value("${razorpay.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${razorpay.http.read-timeout:15s}")
+    private Duration readTimeout;
+
+    // Nothing else may construct a RazorpayClient: doing so would replace the tuned HTTP client
+    @Bean
+    public RazorpayClient razorpayClient() throws RazorpayException {
+        RazorpayClient client = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        applyTimeouts();
+        return client;
+    }
+
+    // SDK 1.4.3 hardcodes 60s read/write timeouts and offers no way to pass a client in, so the
+    // shared instance is rebuilt from itself (keeping its TLS setup and interceptors) with ours
+    private void applyTimeouts() {
+        try {
+            Field field = Class.forName("com.razorpay.ApiUtils").getDeclaredField("client");
+            field.setAccessible(true);
+            OkHttpClient sdkClient = (OkHttpClient) field.get(null);
+            field.set(null, sdkClient.newBuilder()
+                    .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .writeTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .build());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Could not apply Razorpay HTTP timeouts, keeping the SDK defaults", e);
+        }
+    }
+}
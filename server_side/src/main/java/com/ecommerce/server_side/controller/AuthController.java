@@ -3,16 +3,17 @@ package com.ecommerce.server_side.controller;
 import com.ecommerce.server_side.dto.AuthRequest;
 import com.ecommerce.server_side.dto.AuthResponse;
 import com.ecommerce.server_side.dto.RefreshTokenRequest;
+import com.ecommerce.server_side.exception.TooManyRequestsException;
 import com.ecommerce.server_side.model.User;
 import com.ecommerce.server_side.repository.UserRepository;
 import com.ecommerce.server_side.security.JwtUtil;
+import com.ecommerce.server_side.service.PasswordHashingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,7 +26,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
 
@@ -34,11 +35,21 @@ public class AuthController {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId());
+        // Hashes stored under a lower work factor are upgraded while the raw password is at hand
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(request.getPassword()));
+                userRepository.save(user);
+            } catch (TooManyRequestsException e) {
+                // Best effort: the login itself succeeded, the upgrade can happen next time
+            }
+        }
+
+        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId(), user.getRole());
         String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
 
         return new AuthResponse(accessToken, refreshToken, user.getId(), user.getUsername());
@@ -60,7 +71,12 @@ public class AuthController {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String newAccessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId());
+        // The refresh is where role changes and disabled accounts catch up with access tokens
+        if (!user.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Account disabled");
+        }
+
+        String newAccessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getId(), user.getRole());
 
         return ResponseEntity.ok(Map.of("token", newAccessToken));
     }
@@ -73,7 +89,7 @@ public class AuthController {
 
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .email(request.getEmail())
                 .role("USER")
                 .enabled(true)
@@ -1,13 +1,23 @@
 package com.ecommerce.server_side.controller;
 
 import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.OrderExportFormat;
+import com.ecommerce.server_side.dto.OrderFilter;
 import com.ecommerce.server_side.dto.OrderStatusUpdateRequest;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.model.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.ecommerce.server_side.service.OrderService;
+import com.ecommerce.server_side.service.UserOrderSummaryService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = {
@@ -22,6 +32,7 @@ import java.util.List;
 @Slf4j
 public class OrderController {
     private final OrderService orderService;
+    private final UserOrderSummaryService userOrderSummaryService;
 
     @PostMapping
     public OrderDTO placeOrder(@RequestBody OrderDTO dto) {
@@ -30,16 +41,50 @@ public class OrderController {
     }
 
     @GetMapping
-    public List<OrderDTO> getAllOrders() {
-        return orderService.getAllOrders();
+    @PreAuthorize("hasRole('ADMIN')")
+    public PageResponse<OrderDTO> getAllOrders(@RequestParam(required = false) OrderStatus status,
+                                               @RequestParam(required = false) String paymentStatus,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "20") int size) {
+        return orderService.getOrders(new OrderFilter(status, paymentStatus, from, to), page, size);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) OrderStatus status,
+                                                              @RequestParam(required = false) String paymentStatus,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                              @RequestParam(defaultValue = "ndjson") String format) {
+        OrderExportFormat exportFormat = OrderExportFormat.valueOf(format.trim().toUpperCase());
+        OrderFilter filter = new OrderFilter(status, paymentStatus, from, to);
+        log.info("Exporting orders as {} with filter {}", exportFormat, filter);
+
+        // Rows are written as they are read from the database cursor, so nothing is buffered in full
+        StreamingResponseBody body = out -> orderService.exportOrders(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/user/{userId}")
     public List<OrderDTO> getOrdersByUser(@PathVariable Long userId) {
-        log.info("Getting orders for user ID: {}", userId);
+        log.debug("Getting orders for user ID: {}", userId);
         return orderService.getOrdersByUser(userId);
     }
 
+    // "My orders" from the summary projection, newest first; pass nextCursor back as ?after=
+    @GetMapping("/user/{userId}/summaries")
+    @PreAuthorize("hasRole('ADMIN') or @userAccess.isSelf(#userId)")
+    public PageResponse<OrderDTO> getOrderSummaries(@PathVariable Long userId,
+                                                    @RequestParam(required = false) Long after,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        return userOrderSummaryService.getOrderSummaries(userId, after, size);
+    }
+
     @GetMapping("/{id}")
     public OrderDTO getOrder(@PathVariable Long id) {
         return orderService.getOrderById(id);
@@ -47,7 +92,7 @@ public class OrderController {
 
     @PostMapping("/checkout/{userId}")
     public OrderDTO checkout(@PathVariable Long userId) {
-        log.info("Checkout initiated for user ID: {}", userId);
+        log.debug("Checkout initiated for user ID: {}", userId);
         try {
             OrderDTO result = orderService.checkoutCart(userId);
             log.info("Checkout successful for user ID: {}, order ID: {}", userId, result.getId());
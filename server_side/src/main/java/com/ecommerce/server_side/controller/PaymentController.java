@@ -3,13 +3,20 @@ package com.ecommerce.server_side.controller;
 import com.ecommerce.server_side.dto.PaymentRequest;
 import com.ecommerce.server_side.dto.PaymentResponse;
 import com.ecommerce.server_side.dto.PaymentVerificationRequest;
+import com.ecommerce.server_side.exception.ServiceUnavailableException;
 import com.ecommerce.server_side.service.PaymentService;
+import com.ecommerce.server_side.service.PaymentWebhookService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/payments")
 @CrossOrigin(origins = {
@@ -30,44 +37,59 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
     @PostMapping("/create-order")
-    public ResponseEntity<?> createPaymentOrder(@RequestBody PaymentRequest paymentRequest) {
+    public CompletableFuture<ResponseEntity<?>> createPaymentOrder(@RequestBody PaymentRequest paymentRequest) {
+        CompletableFuture<PaymentResponse> pending;
         try {
-            log.info("Creating payment order for user: {}, amount: {}, currency: {}", 
+            log.debug("Creating payment order for user: {}, amount: {}, currency: {}", 
                 paymentRequest.getUserId(), paymentRequest.getAmount(), paymentRequest.getCurrency());
             
             // Validate payment request
             if (paymentRequest.getUserId() == null) {
                 log.error("User ID is required");
-                return ResponseEntity.badRequest().body("User ID is required");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("User ID is required"));
             }
             
             if (paymentRequest.getAmount() == null || paymentRequest.getAmount() <= 0) {
                 log.error("Invalid amount: {}", paymentRequest.getAmount());
-                return ResponseEntity.badRequest().body("Invalid amount");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid amount"));
             }
             
             if (paymentRequest.getCurrency() == null || paymentRequest.getCurrency().isEmpty()) {
                 log.error("Currency is required");
-                return ResponseEntity.badRequest().body("Currency is required");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Currency is required"));
             }
             
-            PaymentResponse response = paymentService.createPaymentOrder(paymentRequest);
-            log.info("Payment order created successfully: {}", response.getOrderId());
-            return ResponseEntity.ok(response);
+            pending = paymentService.createPaymentOrder(paymentRequest);
         } catch (RuntimeException e) {
             log.error("Runtime error creating payment order: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error creating payment order: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body("Failed to create payment order: " + e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
+
+        // The request thread is released here; the response is written when the gateway answers
+        return pending.<ResponseEntity<?>>thenApply(response -> {
+            log.info("Payment order created successfully: {}", response.getOrderId());
+            return ResponseEntity.ok(response);
+        }).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof ServiceUnavailableException) {
+                log.warn("Payment gateway unavailable: {}", cause.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(cause.getMessage());
+            }
+            log.error("Error creating payment order: {}", cause.getMessage(), cause);
+            return ResponseEntity.badRequest().body("Failed to create payment order: " + cause.getMessage());
+        });
     }
 
     @PostMapping("/verify")
     public ResponseEntity<Boolean> verifyPayment(@RequestBody PaymentVerificationRequest verificationRequest) {
         try {
-            log.info("Verifying payment for order: {}", verificationRequest.getRazorpayOrderId());
+            log.debug("Verifying payment for order: {}", verificationRequest.getRazorpayOrderId());
             boolean isValid = paymentService.verifyPayment(verificationRequest);
             log.info("Payment verification result: {}", isValid);
             return ResponseEntity.ok(isValid);
@@ -76,4 +98,16 @@ public class PaymentController {
             return ResponseEntity.badRequest().body(false);
         }
     }
+
+    // Called by Razorpay, not the client: verify, queue and acknowledge; PaymentEventWorker applies it
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receiveWebhook(@RequestBody byte[] payload,
+                                               @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature) {
+        if (!paymentWebhookService.isSignatureValid(payload, signature)) {
+            log.warn("Rejected payment webhook with invalid signature");
+            return ResponseEntity.badRequest().build();
+        }
+        paymentWebhookService.enqueue(payload);
+        return ResponseEntity.ok().build();
+    }
 }
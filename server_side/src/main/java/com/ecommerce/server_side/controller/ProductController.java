@@ -1,19 +1,36 @@
 package com.ecommerce.server_side.controller;
 
+import com.ecommerce.server_side.dto.PageResponse;
 import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.dto.ProductFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import com.ecommerce.server_side.service.CatalogVersionService;
+import com.ecommerce.server_side.service.InventoryService;
+import com.ecommerce.server_side.service.ProductSearchService;
 import com.ecommerce.server_side.service.ProductService;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
+    // Let browsers keep the body but revalidate it with If-None-Match on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersionService catalogVersionService;
+    private final InventoryService inventoryService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -22,13 +39,73 @@ public class ProductController {
     }
 
     @GetMapping
-    public List<ProductDTO> getAll(){
-        return productService.getAllProducts();
+    public ResponseEntity<PageResponse<ProductDTO>> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestParam(required = false) String name,
+                                           @RequestParam(required = false) Double minPrice,
+                                           @RequestParam(required = false) Double maxPrice,
+                                           @RequestParam(required = false) String category,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size,
+                                           @RequestParam(defaultValue = "id") String sort,
+                                           @RequestParam(required = false) Long after){
+        ProductFilter filter = ProductFilter.builder()
+                .name(name)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .category(category)
+                .build();
+
+        // A cursor switches to keyset pagination (ordered by id) for deep scrolling
+        if (after != null) {
+            return catalogResponse(ifNoneMatch, () -> productService.scrollProducts(filter, after, size));
+        }
+        return catalogResponse(ifNoneMatch, () -> productService.getProducts(filter, page, size, sort));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<String>> getCategories(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return catalogResponse(ifNoneMatch, productService::getAllCategories);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDTO>> search(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                   @RequestParam("q") String query,
+                                   @RequestParam(required = false) String category,
+                                   @RequestParam(defaultValue = "20") int limit){
+        return catalogResponse(ifNoneMatch, () -> productSearchService.search(query, category, limit));
+    }
+
+    // Available-to-sell changes with every checkout, so it is served apart from the cacheable
+    // catalog responses, straight from the in-memory counters
+    @GetMapping("/availability")
+    public ResponseEntity<Map<Long, Integer>> getAvailableStock(@RequestParam List<Long> ids){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(inventoryService.getAvailableStock(ids));
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable Long id){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("productId", id, "available", inventoryService.getAvailableStock(id)));
     }
 
     @GetMapping("/{id}")
-    public ProductDTO getOne(@PathVariable Long id){
-        return productService.getProductById(id);
+    public ResponseEntity<ProductDTO> getOne(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @PathVariable Long id){
+        // Served from the product cache, so a revalidation normally skips the database as well
+        ProductDTO product = productService.getProductById(id);
+        String eTag = "\"product-" + product.getId() + "-" + product.getVersion() + "\"";
+
+        boolean notModified = eTagMatches(ifNoneMatch, eTag);
+        ResponseEntity.BodyBuilder builder = (notModified ? ResponseEntity.status(HttpStatus.NOT_MODIFIED) : ResponseEntity.ok())
+                .eTag(eTag)
+                .cacheControl(REVALIDATE);
+        if (product.getUpdatedAt() != null) {
+            builder.lastModified(product.getUpdatedAt());
+        }
+        return notModified ? builder.build() : builder.body(product);
     }
 
     @PutMapping("/{id}")
@@ -42,4 +119,39 @@ public class ProductController {
     public void delete(@PathVariable Long id){
         productService.deleteProduct(id);
     }
+
+    // The tag is read before the body is built, so a concurrent write can only make it older than the body, never newer
+    private <T> ResponseEntity<T> catalogResponse(String ifNoneMatch, Supplier<T> body) {
+        String eTag = catalogVersionService.getETag();
+        long lastModified = catalogVersionService.getLastModified();
+
+        if (eTagMatches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(REVALIDATE)
+                .body(body.get());
+    }
+
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
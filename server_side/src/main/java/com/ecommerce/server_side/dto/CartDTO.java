@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -14,4 +15,5 @@ import java.util.List;
 public class CartDTO {
     private Long userId;
     private List<CartItemDTO> items;
+    private BigDecimal total; // at current prices
 }
@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +16,27 @@ public class CartItemDTO {
     private Long productId;
     private String name;
     private String description;
-    private Double price;
+    private BigDecimal price; // current product price
     private String imageUrl;
     private int quantity;
+
+    // Filled in by the cart evaluation
+    private int availableStock;
+    private BigDecimal addedPrice; // price when the line was first added to the cart
+    private BigDecimal lineTotal;
+    private boolean outOfStock;
+    private boolean priceChanged;
+
+    // Row of the cart evaluation query (CartItemRepository.findCartView)
+    public CartItemDTO(Long productId, String name, String description, Double price, String imageUrl,
+                       int quantity, int availableStock, BigDecimal addedPrice) {
+        this.productId = productId;
+        this.name = name;
+        this.description = description;
+        this.price = price != null ? BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP) : null;
+        this.imageUrl = imageUrl;
+        this.quantity = quantity;
+        this.availableStock = availableStock;
+        this.addedPrice = addedPrice;
+    }
 }
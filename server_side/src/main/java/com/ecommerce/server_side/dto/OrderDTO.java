@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +25,6 @@ public class OrderDTO {
     // Payment related fields
     private String razorpayOrderId;
     private String razorpayPaymentId;
-    private Double totalAmount;
+    private BigDecimal totalAmount;
     private String paymentStatus;
 }
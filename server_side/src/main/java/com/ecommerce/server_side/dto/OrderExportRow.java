@@ -0,0 +1,25 @@
+package com.ecommerce.server_side.dto;
+
+import com.ecommerce.server_side.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportRow {
+    private Long id;
+    private Long userId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private String paymentStatus;
+    private BigDecimal totalAmount;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+}
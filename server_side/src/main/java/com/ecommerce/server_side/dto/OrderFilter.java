@@ -0,0 +1,20 @@
+package com.ecommerce.server_side.dto;
+
+import com.ecommerce.server_side.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderFilter {
+    private OrderStatus status;
+    private String paymentStatus;
+    private LocalDateTime from; // inclusive
+    private LocalDateTime to;   // exclusive
+}
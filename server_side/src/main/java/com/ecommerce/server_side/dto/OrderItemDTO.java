@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,6 +16,6 @@ public class OrderItemDTO {
     private Long productId;
     private String productName;
     private String productImageUrl;
-    private Double productPrice;
+    private BigDecimal productPrice;
     private Integer quantity;
 }
@@ -0,0 +1,22 @@
+package com.ecommerce.server_side.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private Long totalElements; // null for keyset (cursor) pages, which skip the count query
+    private Integer totalPages;
+    private boolean last;
+    private Long nextCursor; // pass back as ?after= to fetch the following keyset page
+}
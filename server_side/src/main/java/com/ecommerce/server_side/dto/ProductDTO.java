@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -18,4 +20,6 @@ public class ProductDTO {
     private int stock;
     private List<String> categories;
     private String imageUrl;
+    private Long version;
+    private Instant updatedAt;
 }
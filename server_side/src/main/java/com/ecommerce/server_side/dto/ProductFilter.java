@@ -0,0 +1,17 @@
+package com.ecommerce.server_side.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilter {
+    private String name;
+    private Double minPrice;
+    private Double maxPrice;
+    private String category;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.server_side.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts order lifecycle events by type, so order flow shows up next to the request metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderAnalyticsListener {
+    private final MeterRegistry meterRegistry;
+
+    @EventListener
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        Counter.builder("orders.events")
+                .description("Order lifecycle events delivered from the outbox")
+                .tag("type", event.getType().name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
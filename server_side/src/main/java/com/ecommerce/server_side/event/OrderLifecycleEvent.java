@@ -0,0 +1,20 @@
+package com.ecommerce.server_side.event;
+
+import com.ecommerce.server_side.model.OrderEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * An order outbox event as delivered to in-process listeners. Delivery is at least once, in
+ * order per order, so listeners must tolerate seeing the same event again.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderLifecycleEvent {
+    private final Long eventId;
+    private final Long orderId;
+    private final OrderEventType type;
+    private final Instant occurredAt;
+}
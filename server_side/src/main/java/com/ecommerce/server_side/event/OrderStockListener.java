@@ -0,0 +1,36 @@
+package com.ecommerce.server_side.event;
+
+import com.ecommerce.server_side.service.InventoryService;
+import com.ecommerce.server_side.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves stock for order lifecycle events delivered from the outbox. Both paths are idempotent,
+ * since an event is delivered again whenever its dispatch transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStockListener {
+    private final OrderService orderService;
+    private final InventoryService inventoryService;
+
+    @EventListener
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        switch (event.getType()) {
+            // Guarded by the order's stock-deducted flag
+            case PAID, CONFIRMED -> orderService.deductStock(event.getOrderId());
+            // A no-op once the holds are gone
+            case CANCELLED -> {
+                if (inventoryService.release(event.getOrderId())) {
+                    log.debug("Released stock for cancelled order ID: {}", event.getOrderId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.server_side.event;
+
+import com.ecommerce.server_side.config.CacheConfig;
+import com.ecommerce.server_side.service.CatalogVersionService;
+import com.ecommerce.server_side.service.InventoryService;
+import com.ecommerce.server_side.service.ProductSearchService;
+import com.ecommerce.server_side.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the product caches, the available-to-sell counters, the search index and the catalog ETag in step with the database.
+ * Runs after commit so a concurrent reader cannot repopulate the cache with
+ * the pre-commit row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangeListener {
+    private final CacheManager cacheManager;
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersionService catalogVersionService;
+    private final InventoryService inventoryService;
+
+    // A fresh persistence context: the committed one may still hold the pre-update rows,
+    // notably after the bulk stock decrement which bypasses managed entities
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Cache productCache = cacheManager.getCache(CacheConfig.PRODUCT_CACHE);
+        if (productCache != null) {
+            event.getProductIds().forEach(productCache::evict);
+        }
+        inventoryService.evict(event.getProductIds());
+
+        // Any listing page may contain the product, and stock is part of every page entry
+        clear(CacheConfig.PRODUCT_PAGE_CACHE);
+        if (event.isCatalogChanged()) {
+            clear(CacheConfig.PRODUCT_CATEGORY_CACHE);
+        }
+
+        for (Long productId : event.getProductIds()) {
+            if (event.isRemoved()) {
+                productSearchService.remove(productId);
+            } else {
+                // Re-reads through the cache, so the fresh row is cached again as a side effect
+                productSearchService.index(productService.getProductById(productId));
+            }
+        }
+
+        // Bumped last so a client revalidating with the new tag can only ever see fresh data
+        catalogVersionService.bump();
+        log.debug("Invalidated product caches for {}", event.getProductIds());
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.server_side.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Set<Long> productIds;
+    private final boolean removed;
+    private final boolean catalogChanged; // admin edit that may alter listings or categories, not just stock
+
+    public static ProductChangedEvent catalogUpdated(Long productId) {
+        return new ProductChangedEvent(Set.of(productId), false, true);
+    }
+
+    public static ProductChangedEvent catalogRemoved(Long productId) {
+        return new ProductChangedEvent(Set.of(productId), true, true);
+    }
+
+    public static ProductChangedEvent stockChanged(Set<Long> productIds) {
+        return new ProductChangedEvent(Set.copyOf(productIds), false, false);
+    }
+}
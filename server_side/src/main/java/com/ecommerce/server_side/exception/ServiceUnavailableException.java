@@ -0,0 +1,11 @@
+package com.ecommerce.server_side.exception;
+
+/**
+ * Thrown when a downstream dependency is failing or saturated; answered with 503 so clients
+ * retry later instead of the failure tying up more of our threads.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.server_side.exception;
+
+/**
+ * Thrown when a bounded resource is saturated; answered with 429 so clients back off and retry
+ * instead of queueing behind the overload.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.server_side.gateway;
+
+import com.ecommerce.server_side.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs payment gateway calls off the request threads, so a slow or failing gateway can only
+ * exhaust this pool and never the threads serving the rest of the shop.
+ *
+ * <ul>
+ *   <li>Bulkhead: a fixed pool with a bounded queue; overflow is refused immediately.</li>
+ *   <li>Timeout: the returned future fails once {@code payment.gateway.timeout} has passed,
+ *       and no further attempt is started after that deadline.</li>
+ *   <li>Retries: idempotent calls are retried on retryable failures with exponential backoff
+ *       and full jitter, so callers that failed together do not retry together.</li>
+ *   <li>Circuit breaker: after repeated failures calls fail fast until a probe succeeds.</li>
+ * </ul>
+ * Every refusal surfaces as {@link ServiceUnavailableException}, answered with 503.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GatewayCallExecutor {
+    private static final String BUSY = "Payment gateway is busy, please retry shortly";
+    private static final String UNAVAILABLE = "Payment gateway is temporarily unavailable, please retry shortly";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.gateway.max-concurrent:10}")
+    private int maxConcurrent;
+
+    @Value("${payment.gateway.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${payment.gateway.timeout:15s}")
+    private Duration timeout;
+
+    @Value("${payment.gateway.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${payment.gateway.retry.initial-backoff:200ms}")
+    private Duration initialBackoff;
+
+    @Value("${payment.gateway.retry.max-backoff:2s}")
+    private Duration maxBackoff;
+
+    @Value("${payment.gateway.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${payment.gateway.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    private ThreadPoolExecutor executor;
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    public void init() {
+        // Platform threads even in virtual-thread mode: the pool exists to cap concurrent gateway
+        // calls, and the Razorpay SDK's OkHttp 3 client blocks inside synchronized code
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("payment-gateway-"), new ThreadPoolExecutor.AbortPolicy());
+        circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+
+        Gauge.builder("payment.gateway.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Runs {@code call} on the gateway pool. Only pass {@code idempotent = true} when repeating
+     * the call cannot duplicate its effect.
+     */
+    public <T> CompletableFuture<T> submit(String operation, boolean idempotent, Supplier<T> call) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> callWithRetries(operation, idempotent ? maxAttempts : 1, deadline, call), executor);
+        } catch (RejectedExecutionException e) {
+            rejected(operation, "bulkhead");
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(BUSY));
+        }
+
+        return result
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return value;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        rejected(operation, "timeout");
+                        throw new ServiceUnavailableException(UNAVAILABLE);
+                    }
+                    throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+                });
+    }
+
+    private <T> T callWithRetries(String operation, int attempts, long deadline, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                rejected(operation, "circuit-open");
+                throw new ServiceUnavailableException(UNAVAILABLE);
+            }
+
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                circuitBreaker.onSuccess();
+                record(operation, "success", start);
+                return value;
+            } catch (PaymentGatewayException e) {
+                if (!e.isRetryable()) {
+                    // The gateway answered and refused the request: it is healthy, the request is not
+                    circuitBreaker.onSuccess();
+                    record(operation, "rejected", start);
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                record(operation, "failure", start);
+
+                long backoffNanos = backoff(attempt);
+                if (attempt >= attempts || System.nanoTime() + backoffNanos >= deadline) {
+                    log.warn("Payment gateway {} failed after {} attempt(s): {}", operation, attempt, e.getMessage());
+                    throw new ServiceUnavailableException(UNAVAILABLE);
+                }
+                log.info("Payment gateway {} attempt {} failed, retrying in {} ms", operation, attempt,
+                        TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+                sleep(backoffNanos);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                record(operation, "error", start);
+                throw e;
+            }
+        }
+    }
+
+    // Full jitter: uniformly random between zero and the exponential cap for this attempt
+    private long backoff(int attempt) {
+        long cap = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(UNAVAILABLE);
+        }
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        Timer.builder("payment.gateway.call")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void rejected(String operation, String reason) {
+        Counter.builder("payment.gateway.rejected")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
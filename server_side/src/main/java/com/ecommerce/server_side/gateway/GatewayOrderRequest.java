@@ -0,0 +1,17 @@
+package com.ecommerce.server_side.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GatewayOrderRequest {
+    private int amountInPaise;
+    private String currency;
+    private String receipt;
+    private String notes;
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.server_side.gateway;
+
+import java.util.Optional;
+
+/**
+ * The payment provider as seen by the rest of the application. Calls are blocking and are
+ * expected to run through {@link GatewayCallExecutor}, never on a request thread.
+ */
+public interface PaymentGateway {
+    /**
+     * Creates a provider order and returns its id. Not idempotent on its own: a retry could
+     * create a second order, see {@link #findOrderIdByReceipt}.
+     */
+    String createOrder(GatewayOrderRequest request);
+
+    /**
+     * The order previously created for this receipt (and amount), if any. Read-only.
+     */
+    Optional<String> findOrderIdByReceipt(String receipt, int amountInPaise);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.server_side.gateway;
+
+import lombok.Getter;
+
+/**
+ * A failed gateway call. Non-retryable failures are answers from a healthy gateway (a rejected
+ * request); retryable ones are transport errors and server-side failures.
+ */
+@Getter
+public class PaymentGatewayException extends RuntimeException {
+    private final boolean retryable;
+
+    public PaymentGatewayException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public PaymentGatewayException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.server_side.gateway;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "razorpay", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RazorpayPaymentGateway implements PaymentGateway {
+    // Prefix of the error the API returns for requests it refuses (validation, auth); the SDK
+    // flattens everything else, transport failures included, into a bare message
+    private static final String BAD_REQUEST = "BAD_REQUEST_ERROR";
+
+    private final RazorpayClient razorpayClient;
+
+    @Override
+    public String createOrder(GatewayOrderRequest request) {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", request.getAmountInPaise());
+        orderRequest.put("currency", request.getCurrency());
+        orderRequest.put("receipt", request.getReceipt());
+
+        // Only add notes if they are not null or empty, and wrap them in a JSONObject
+        if (request.getNotes() != null && !request.getNotes().isEmpty()) {
+            JSONObject notesObject = new JSONObject();
+            notesObject.put("description", request.getNotes());
+            orderRequest.put("notes", notesObject);
+        }
+
+        try {
+            Order order = razorpayClient.orders.create(orderRequest);
+            return order.get("id").toString();
+        } catch (RazorpayException e) {
+            throw translate("create order", e);
+        }
+    }
+
+    @Override
+    public Optional<String> findOrderIdByReceipt(String receipt, int amountInPaise) {
+        JSONObject query = new JSONObject();
+        query.put("receipt", receipt);
+        try {
+            return razorpayClient.orders.fetchAll(query).stream()
+                    .filter(order -> ((Number) order.get("amount")).intValue() == amountInPaise)
+                    .map(order -> order.get("id").toString())
+                    .findFirst();
+        } catch (RazorpayException e) {
+            throw translate("fetch orders", e);
+        }
+    }
+
+    private PaymentGatewayException translate(String operation, RazorpayException e) {
+        String message = e.getMessage() != null ? e.getMessage() : "";
+        boolean retryable = !message.startsWith(BAD_REQUEST);
+        log.warn("Razorpay {} failed (retryable: {}): {}", operation, retryable, message);
+        return new PaymentGatewayException("Failed to " + operation + ": " + message, retryable, e);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.server_side.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the payment provider, for local runs and tests
+ * ({@code payment.gateway.provider=stub}). Latency and failure rate are adjustable at runtime
+ * so a degrading gateway can be simulated.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "stub")
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, GatewayOrderRequest> ordersById = new ConcurrentHashMap<>();
+
+    private volatile Duration latency;
+    private volatile double failureRate;
+
+    public StubPaymentGateway(@Value("${payment.gateway.stub.latency:200ms}") Duration latency,
+                              @Value("${payment.gateway.stub.failure-rate:0}") double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String createOrder(GatewayOrderRequest request) {
+        respond();
+        String orderId = "order_stub_" + sequence.incrementAndGet();
+        ordersById.put(orderId, request);
+        return orderId;
+    }
+
+    @Override
+    public Optional<String> findOrderIdByReceipt(String receipt, int amountInPaise) {
+        respond();
+        return ordersById.entrySet().stream()
+                .filter(entry -> receipt.equals(entry.getValue().getReceipt())
+                        && entry.getValue().getAmountInPaise() == amountInPaise)
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public int getOrderCount() {
+        return ordersById.size();
+    }
+
+    private void respond() {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted", true, e);
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentGatewayException("Stub gateway failure", true);
+        }
+    }
+}
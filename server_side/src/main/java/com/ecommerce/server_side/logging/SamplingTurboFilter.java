@@ -0,0 +1,75 @@
+package com.ecommerce.server_side.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code rate} events at or below {@code level} from the configured loggers
+ * (a name matches itself and its children); more severe events always pass. As a turbo filter it
+ * runs before the event is created, so a dropped line costs a counter increment and nothing else.
+ * Meant for DEBUG and TRACE detail; sampling INFO would also drop audit lines such as created orders.
+ *
+ * <pre>
+ * &lt;turboFilter class="com.ecommerce.server_side.logging.SamplingTurboFilter"&gt;
+ *     &lt;logger&gt;com.ecommerce.server_side.controller&lt;/logger&gt;
+ *     &lt;level&gt;DEBUG&lt;/level&gt;
+ *     &lt;rate&gt;10&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private Level level = Level.DEBUG;
+    private int rate = 10;
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate must be at least 1");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Level checks such as isDebugEnabled() carry no format and are left to the level rules
+        if (!isStarted() || format == null || level.toInt() > this.level.toInt() || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
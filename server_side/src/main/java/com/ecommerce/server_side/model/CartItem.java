@@ -4,10 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
 
 @Entity
-@Table(name = "cart_item")
+@Table(name = "cart_item", uniqueConstraints = @UniqueConstraint(name = "uk_cart_item_cart_product",
+        columnNames = {"cart_id", "product_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,13 +22,19 @@ public class CartItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Cart cart;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
     private int quantity;
+
+    // Product price when the line was first added to the cart; the cart flags lines whose price has moved since
+    @Column(name = "added_price", precision = 12, scale = 2)
+    private BigDecimal addedPrice;
 }
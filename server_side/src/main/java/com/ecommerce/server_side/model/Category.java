@@ -0,0 +1,33 @@
+package com.ecommerce.server_side.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+@Entity
+@Table(name = "category")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Category {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Stored lower-cased, so the plain unique key already makes names unique ignoring case
+    @Column(unique = true, nullable = false)
+    private String name;
+
+    @PrePersist
+    @PreUpdate
+    void normaliseName() {
+        if (name != null) {
+            name = name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -5,28 +5,36 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_user_order_date", columnList = "user_id, order_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
+    // Pooled sequence: ids are handed out in memory, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     private LocalDateTime orderDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy by default; read paths fetch what they need through OrderRepository entity graphs
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems;
 
     @Enumerated(EnumType.STRING)
@@ -35,6 +43,13 @@ public class Order {
     // Payment related fields
     private String razorpayOrderId;
     private String razorpayPaymentId;
-    private Double totalAmount;
+    // Sum of the line snapshots, fixed at checkout
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalAmount;
     private String paymentStatus; // PENDING, COMPLETED, FAILED
+
+    // Set once the order's stock has been taken; guards against deducting it twice
+    @Column(name = "stock_deducted", nullable = false)
+    @ColumnDefault("false")
+    private boolean stockDeducted;
 }
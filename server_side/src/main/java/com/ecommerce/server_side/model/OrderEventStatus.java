@@ -0,0 +1,7 @@
+package com.ecommerce.server_side.model;
+
+public enum OrderEventStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.server_side.model;
+
+public enum OrderEventType {
+    PLACED,
+    PAID,
+    PAYMENT_FAILED,
+    CONFIRMED,
+    STATUS_CHANGED,
+    CANCELLED,
+    EXPIRED
+}
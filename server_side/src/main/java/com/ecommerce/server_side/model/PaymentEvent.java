@@ -0,0 +1,60 @@
+package com.ecommerce.server_side.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A verified payment webhook delivery, stored before it is acted on. The unique key on
+ * (payment id, event type) is the idempotency key: redeliveries of the same event are dropped
+ * on insert.
+ */
+@Entity
+@Table(name = "payment_event",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_event_payment_event_type",
+                columnNames = {"razorpay_payment_id", "event_type"}),
+        indexes = @Index(name = "idx_payment_event_status_id", columnList = "status, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "razorpay_payment_id", nullable = false, length = 64)
+    private String razorpayPaymentId;
+
+    @Column(name = "razorpay_order_id", length = 64)
+    private String razorpayOrderId;
+
+    // Our order id, from the notes the checkout attaches to the payment
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PaymentEventStatus status;
+
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+}
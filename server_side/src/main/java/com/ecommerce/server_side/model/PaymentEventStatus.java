@@ -0,0 +1,8 @@
+package com.ecommerce.server_side.model;
+
+public enum PaymentEventStatus {
+    PENDING,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
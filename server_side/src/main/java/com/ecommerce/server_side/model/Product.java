@@ -4,9 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.List;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "product")
@@ -28,9 +35,31 @@ public class Product {
     private double price;
     private int stock;
 
+    // Units held by unexpired checkout reservations; only ever changed through the inventory SQL
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int reserved;
+
     @Column(columnDefinition = "TEXT")
     private String imageUrl;// optional for frontend use
 
-    @Column(columnDefinition = "TEXT")
-    private String categories; // JSON array of categories as string
+    // Loaded lazily and in batches so a page of products costs one extra query, not one per row
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "product_category",
+            joinColumns = @JoinColumn(name = "product_id"),
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "idx_product_category_category_id", columnList = "category_id"))
+    @OrderBy("name")
+    @BatchSize(size = 100)
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<Category> categories = new LinkedHashSet<>();
+
+    @Version
+    private long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -36,6 +36,6 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Order> orders = new ArrayList<>();
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private Cart cart;
+    // No inverse Cart mapping: an inverse one-to-one cannot be lazy without bytecode enhancement,
+    // so every loaded user would cost a cart select. Look carts up through CartRepository
 }
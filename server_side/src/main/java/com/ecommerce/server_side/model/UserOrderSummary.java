@@ -0,0 +1,37 @@
+package com.ecommerce.server_side.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Read model behind "my orders": one row per order holding the order as the API returns it,
+ * so a user's order list is a single index range scan with no joins. Rebuilt from the order
+ * tables in the same transaction as every order change.
+ */
+@Entity
+@Table(name = "user_order_summary",
+        indexes = @Index(name = "idx_user_order_summary_user_order", columnList = "user_id, order_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserOrderSummary {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The serialized OrderDTO
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -1,7 +1,46 @@
 package com.ecommerce.server_side.repository;
 
+import com.ecommerce.server_side.dto.CartItemDTO;
 import com.ecommerce.server_side.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    // Every line with its product's current price and available-to-sell stock, in one joined
+    // select; CartServiceImplementation.evaluate derives the totals and flags from these rows
+    @Query("SELECT new com.ecommerce.server_side.dto.CartItemDTO(p.id, p.name, p.description, p.price, p.imageUrl, "
+            + "i.quantity, p.stock - p.reserved, i.addedPrice) "
+            + "FROM CartItem i JOIN i.product p WHERE i.cart.user.id = :userId ORDER BY i.id")
+    List<CartItemDTO> findCartView(@Param("userId") Long userId);
+
+    // Adds to the line for this product, creating it if needed, in one statement; relies on the
+    // (cart_id, product_id) unique key. Adding again keeps the price the line was first added at,
+    // so a repricing in between still shows as priceChanged. Returns 0 when the user has no cart
+    // yet or the product does not exist
+    @Modifying
+    @Query(value = "INSERT INTO cart_item (cart_id, product_id, quantity, added_price) "
+            + "SELECT c.id, p.id, :quantity, ROUND(CAST(p.price AS NUMERIC), 2) "
+            + "FROM cart c JOIN product p ON p.id = :productId WHERE c.user_id = :userId "
+            + "ON CONFLICT (cart_id, product_id) DO UPDATE SET quantity = cart_item.quantity + EXCLUDED.quantity",
+            nativeQuery = true)
+    int addQuantity(@Param("userId") Long userId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // Leaves the row alone when the quantity is unchanged
+    @Modifying
+    @Query("UPDATE CartItem i SET i.quantity = :quantity WHERE i.product.id = :productId AND i.quantity <> :quantity "
+            + "AND i.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int setQuantity(@Param("userId") Long userId, @Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.product.id = :productId "
+            + "AND i.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int deleteItem(@Param("userId") Long userId, @Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int deleteAllItems(@Param("userId") Long userId);
 }
@@ -0,0 +1,17 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    // Names are unique ignoring case (lower(name) index); pass them already lower-cased
+    @Query("SELECT c FROM Category c WHERE lower(c.name) IN :names")
+    List<Category> findByLowerNameIn(@Param("names") Collection<String> names);
+
+    List<Category> findAllByOrderByNameAsc();
+}
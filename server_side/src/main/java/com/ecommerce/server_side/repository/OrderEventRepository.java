@@ -0,0 +1,27 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.OrderEvent;
+import com.ecommerce.server_side.model.OrderEventStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    @Query("SELECT e FROM OrderEvent e WHERE e.status = :status ORDER BY e.id")
+    List<OrderEvent> findByStatus(@Param("status") OrderEventStatus status, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OrderEvent e WHERE e.id = :id")
+    Optional<OrderEvent> findForUpdateById(@Param("id") Long id);
+
+    // An earlier event of the same order still waiting: this one has to wait behind it
+    boolean existsByOrderIdAndStatusAndIdLessThan(Long orderId, OrderEventStatus status, Long id);
+}
@@ -1,10 +1,34 @@
 package com.ecommerce.server_side.repository;
 
 import com.ecommerce.server_side.model.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderRepositoryCustom {
+    // Loads orders and their items in a single joined select; items carry their own product
+    // snapshot, so the product table is not read
+    @EntityGraph(attributePaths = {"user", "orderItems"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"user", "orderItems"})
     List<Order> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = {"user", "orderItems"})
+    Optional<Order> findWithItemsById(Long id);
+
+    // Serialises payment and status updates of one order, so stock is deducted at most once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(@Param("id") Long id);
+
+    Optional<Order> findFirstByRazorpayOrderId(String razorpayOrderId);
 }
@@ -0,0 +1,15 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+    /**
+     * Streams matching orders oldest first using a server-side cursor. Each order is
+     * detached once read, so memory stays flat however many rows are exported.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    Stream<Order> streamAll(Specification<Order> spec, int fetchSize);
+}
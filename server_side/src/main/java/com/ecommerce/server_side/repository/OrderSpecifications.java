@@ -0,0 +1,49 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.dto.OrderFilter;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class OrderSpecifications {
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(OrderFilter filter) {
+        Specification<Order> spec = (root, query, cb) -> cb.conjunction();
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(hasStatus(filter.getStatus()));
+        }
+        if (filter.getPaymentStatus() != null && !filter.getPaymentStatus().isBlank()) {
+            spec = spec.and(hasPaymentStatus(filter.getPaymentStatus()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and(placedOnOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and(placedBefore(filter.getTo()));
+        }
+        return spec;
+    }
+
+    public static Specification<Order> hasStatus(OrderStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Order> hasPaymentStatus(String paymentStatus) {
+        return (root, query, cb) -> cb.equal(root.get("paymentStatus"), paymentStatus);
+    }
+
+    public static Specification<Order> placedOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderDate"), from);
+    }
+
+    public static Specification<Order> placedBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("orderDate"), to);
+    }
+}
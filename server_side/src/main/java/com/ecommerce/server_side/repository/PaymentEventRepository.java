@@ -0,0 +1,38 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.PaymentEvent;
+import com.ecommerce.server_side.model.PaymentEventStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+    // Returns 0 for a duplicate delivery instead of failing the transaction on the unique key
+    @Modifying
+    @Query(value = "INSERT INTO payment_event (event_type, razorpay_payment_id, razorpay_order_id, order_id, status, attempts, received_at, payload) "
+            + "VALUES (:eventType, :paymentId, :razorpayOrderId, :orderId, 'PENDING', 0, :receivedAt, :payload) "
+            + "ON CONFLICT (razorpay_payment_id, event_type) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventType") String eventType,
+                       @Param("paymentId") String paymentId,
+                       @Param("razorpayOrderId") String razorpayOrderId,
+                       @Param("orderId") Long orderId,
+                       @Param("receivedAt") Instant receivedAt,
+                       @Param("payload") String payload);
+
+    @Query("SELECT e.id FROM PaymentEvent e WHERE e.status = :status ORDER BY e.id")
+    List<Long> findIdsByStatus(@Param("status") PaymentEventStatus status, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM PaymentEvent e WHERE e.id = :id")
+    Optional<PaymentEvent> findForUpdateById(@Param("id") Long id);
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.server_side.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface ProductRepositoryCustom {
+    /**
+     * Decrements stock for every product in one JDBC batch of conditional updates,
+     * applied in ascending product id order so concurrent callers lock rows in the
+     * same sequence and cannot deadlock. A row is only changed while it still has
+     * enough unreserved stock. Returns the ids that could not be decremented; the
+     * caller is expected to roll back when that list is not empty.
+     */
+    List<Long> decrementStock(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Moves units from available to reserved, with the same batching, ordering and
+     * rejection contract as {@link #decrementStock}.
+     */
+    List<Long> reserveStock(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Turns reserved units into a permanent decrement. Always succeeds for quantities
+     * that were previously reserved.
+     */
+    void commitReservedStock(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Returns reserved units to available stock.
+     */
+    void releaseReservedStock(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Stock minus reservations for each id that exists.
+     */
+    Map<Long, Integer> findAvailableStock(Collection<Long> productIds);
+}
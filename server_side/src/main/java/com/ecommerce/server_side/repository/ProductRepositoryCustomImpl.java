@@ -0,0 +1,99 @@
+package com.ecommerce.server_side.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE product SET stock = stock - ?, version = version + 1, updated_at = now() " +
+            "WHERE id = ? AND stock - reserved >= ?";
+    private static final String RESERVE_STOCK_SQL =
+            "UPDATE product SET reserved = reserved + ? WHERE id = ? AND stock - reserved >= ?";
+    private static final String COMMIT_RESERVED_SQL =
+            "UPDATE product SET stock = stock - ?, reserved = reserved - ?, version = version + 1, updated_at = now() " +
+            "WHERE id = ?";
+    private static final String RELEASE_RESERVED_SQL =
+            "UPDATE product SET reserved = reserved - ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementStock(SortedMap<Long, Integer> quantitiesByProductId) {
+        return conditionalUpdate(DECREMENT_STOCK_SQL, quantitiesByProductId);
+    }
+
+    @Override
+    public List<Long> reserveStock(SortedMap<Long, Integer> quantitiesByProductId) {
+        return conditionalUpdate(RESERVE_STOCK_SQL, quantitiesByProductId);
+    }
+
+    @Override
+    public void commitReservedStock(SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantitiesByProductId.entrySet());
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(COMMIT_RESERVED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setInt(2, entry.getValue());
+            ps.setLong(3, entry.getKey());
+        });
+    }
+
+    @Override
+    public void releaseReservedStock(SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantitiesByProductId.entrySet());
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_RESERVED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    @Override
+    public Map<Long, Integer> findAvailableStock(Collection<Long> productIds) {
+        Map<Long, Integer> available = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return available;
+        }
+        String placeholders = productIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT id, stock - reserved FROM product WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    available.put(rs.getLong(1), rs.getInt(2));
+                },
+                productIds.toArray());
+        return available;
+    }
+
+    private List<Long> conditionalUpdate(String sql, SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantitiesByProductId.entrySet());
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(sql, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        })[0];
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.dto.ProductFilter;
+import com.ecommerce.server_side.model.Category;
+import com.ecommerce.server_side.model.Product;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class ProductSpecifications {
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        Specification<Product> spec = (root, query, cb) -> cb.conjunction();
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getName() != null && !filter.getName().isBlank()) {
+            spec = spec.and(nameContains(filter.getName()));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            spec = spec.and(hasCategory(filter.getCategory()));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> nameContains(String name) {
+        String pattern = "%" + name.trim().toLowerCase() + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    public static Specification<Product> priceAtLeast(double minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(double maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> hasCategory(String category) {
+        // Category names are unique ignoring case, so the join yields at most one row per
+        // product; lower(name) matches the uk_category_lower_name index
+        return (root, query, cb) -> {
+            Join<Product, Category> categories = root.join("categories");
+            return cb.equal(cb.lower(categories.get("name")), category.trim().toLowerCase(Locale.ROOT));
+        };
+    }
+
+    public static Specification<Product> idGreaterThan(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    List<StockReservation> findByOrderId(Long orderId);
+
+    // Holds of paid orders are left for the stock listener to convert, so they are skipped here;
+    // otherwise a batch of them would sit at the front of every sweep and hide newer expiries
+    @Query("SELECT DISTINCT r.orderId FROM StockReservation r WHERE r.expiresAt < :now "
+            + "AND NOT EXISTS (SELECT o.id FROM Order o WHERE o.id = r.orderId AND o.status IN :paid) "
+            + "ORDER BY r.orderId")
+    List<Long> findExpiredOrderIds(@Param("now") Instant now, @Param("paid") Collection<OrderStatus> paid, Pageable pageable);
+
+    // The affected row count doubles as the claim on the holds: of two concurrent callers
+    // (payment confirmation and the expiry sweeper) only the first one deletes anything
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.UserOrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, Long> {
+    // Newest first, seeking below the cursor; walks idx_user_order_summary_user_order backwards
+    @Query("SELECT s.summary FROM UserOrderSummary s WHERE s.userId = :userId AND s.orderId < :before ORDER BY s.orderId DESC")
+    List<String> findSummaries(@Param("userId") Long userId, @Param("before") Long before, Pageable pageable);
+}
@@ -2,10 +2,15 @@ package com.ecommerce.server_side.repository;
 
 import com.ecommerce.server_side.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false")
+    List<Long> findDisabledUserIds();
 }
@@ -0,0 +1,63 @@
+package com.ecommerce.server_side.scheduler;
+
+import com.ecommerce.server_side.model.OrderEvent;
+import com.ecommerce.server_side.service.OrderEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the order outbox in batches, oldest first. Once an event fails, the rest of that
+ * order's events wait for the next run, so every order's events are delivered in the order
+ * they were written; other orders carry on.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventDispatcher {
+    private final OrderEventService orderEventService;
+
+    @Value("${orders.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval-ms:500}")
+    public void dispatchPendingEvents() {
+        int dispatched = 0;
+        List<OrderEvent> events;
+        int dispatchedInBatch;
+        do {
+            events = orderEventService.findPendingEvents(batchSize);
+            dispatchedInBatch = 0;
+            Set<Long> heldBack = new HashSet<>();
+            for (OrderEvent event : events) {
+                if (heldBack.contains(event.getOrderId())) {
+                    continue;
+                }
+                try {
+                    if (orderEventService.dispatch(event.getId())) {
+                        dispatchedInBatch++;
+                    } else {
+                        heldBack.add(event.getOrderId());
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to dispatch order event ID: {} ({} for order ID: {})",
+                            event.getId(), event.getType(), event.getOrderId(), e);
+                    heldBack.add(event.getOrderId());
+                    orderEventService.recordFailure(event.getId(), e.getMessage());
+                }
+            }
+            dispatched += dispatchedInBatch;
+            // Failed events stay pending; stop rather than fetch the same batch straight away
+        } while (events.size() == batchSize && dispatchedInBatch > 0);
+
+        if (dispatched > 0) {
+            log.debug("Dispatched {} order events", dispatched);
+        }
+    }
+}
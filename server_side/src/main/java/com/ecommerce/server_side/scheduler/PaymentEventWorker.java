@@ -0,0 +1,51 @@
+package com.ecommerce.server_side.scheduler;
+
+import com.ecommerce.server_side.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies queued payment webhook events to their orders. Like the reservation sweeper, each
+ * event runs in its own transaction; a failed event is retried on later runs until
+ * {@code payment.webhook.max-attempts} is reached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentEventWorker {
+    private final PaymentWebhookService paymentWebhookService;
+
+    @Value("${payment.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${payment.webhook.poll-interval-ms:1000}")
+    public void processPendingEvents() {
+        int processed = 0;
+        List<Long> eventIds;
+        int processedInBatch;
+        do {
+            eventIds = paymentWebhookService.findPendingEventIds(batchSize);
+            processedInBatch = 0;
+            for (Long eventId : eventIds) {
+                try {
+                    paymentWebhookService.processEvent(eventId);
+                    processedInBatch++;
+                } catch (RuntimeException e) {
+                    log.error("Failed to process payment event ID: {}", eventId, e);
+                    paymentWebhookService.recordFailure(eventId, e.getMessage());
+                }
+            }
+            processed += processedInBatch;
+            // Failed events stay pending; stop rather than fetch the same batch straight away
+        } while (eventIds.size() == batchSize && processedInBatch > 0);
+
+        if (processed > 0) {
+            log.info("Processed {} payment events", processed);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.server_side.scheduler;
+
+import com.ecommerce.server_side.service.InventoryService;
+import com.ecommerce.server_side.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands expired checkout holds back to available stock. Each order is expired in its own short
+ * transaction, so one failure does not hold up the rest of the batch and no transaction keeps
+ * many product rows locked at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationSweeper {
+    private final InventoryService inventoryService;
+    private final OrderService orderService;
+
+    @Value("${inventory.reservation.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void releaseExpiredReservations() {
+        int expired = 0;
+        List<Long> orderIds;
+        int releasedInBatch;
+        do {
+            orderIds = inventoryService.findExpiredReservationOrders(batchSize);
+            releasedInBatch = 0;
+            for (Long orderId : orderIds) {
+                try {
+                    if (orderService.expireOrder(orderId)) {
+                        releasedInBatch++;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to release expired reservation for order ID: {}", orderId, e);
+                }
+            }
+            expired += releasedInBatch;
+            // A full batch that made no progress would only be fetched again
+        } while (orderIds.size() == batchSize && releasedInBatch > 0);
+
+        if (expired > 0) {
+            log.info("Released expired reservations for {} orders", expired);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.server_side.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HMAC-SHA256 with a fixed key. Mac instances are not thread-safe and costly to create and
+ * initialise, so keyed instances are pooled and reused. A pool rather than a ThreadLocal: with
+ * virtual threads every request runs on a fresh thread, which would never see a cached instance.
+ */
+public class HmacSha256 {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    // Grows to the peak number of concurrent callers and no further
+    private final Queue<Mac> idle = new ConcurrentLinkedQueue<>();
+
+    public HmacSha256(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Fail at construction rather than on the first request if the key is unusable
+        idle.offer(newMac(key));
+    }
+
+    public byte[] sign(byte[] data) {
+        Mac mac = idle.poll();
+        if (mac == null) {
+            mac = newMac(key);
+        }
+        // doFinal resets the instance, ready for the next caller
+        byte[] signature = mac.doFinal(data);
+        idle.offer(mac);
+        return signature;
+    }
+
+    /**
+     * Whether {@code hexSignature} (either case) is the signature of {@code data}.
+     */
+    public boolean verifyHex(byte[] data, String hexSignature) {
+        return hexSignature != null && hexEquals(sign(data), hexSignature);
+    }
+
+    /**
+     * Compares raw bytes with their hex form without decoding or allocating, and in time that
+     * depends only on the length, so a forged signature cannot be found byte by byte.
+     */
+    static boolean hexEquals(byte[] expected, String hex) {
+        if (hex.length() != expected.length * 2) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < expected.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            // A non-hex character yields -1, whose high bits survive the mask and mark a mismatch
+            diff |= ((high << 4) | low) ^ (expected[i] & 0xff);
+            diff |= (high | low) & ~0xf;
+        }
+        return diff == 0;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+}
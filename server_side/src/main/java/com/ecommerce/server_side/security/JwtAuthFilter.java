@@ -1,43 +1,47 @@
 package com.ecommerce.server_side.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
+    // Verified claims of the current request's token, for anything downstream that needs them
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthFilter.class.getName() + ".claims";
+
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final RevokedUserCache revokedUserCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
         try {
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                // extractUsername will throw if token is invalid/expired; catch and continue without auth
-                username = jwtUtil.extractUsername(token);
-            }
+            if (authHeader != null && authHeader.startsWith("Bearer ")
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Parsed and verified once per request; throws if the token is invalid/expired, catch and continue without auth
+                Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(token)) {
+                // Built from the verified claims alone; refresh tokens carry no role and never authenticate a request
+                String username = claims.getSubject();
+                Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+                String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+                if (username != null && role != null && !revokedUserCache.isRevoked(userId)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                            username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
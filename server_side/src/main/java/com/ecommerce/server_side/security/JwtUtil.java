@@ -1,17 +1,28 @@
 package com.ecommerce.server_side.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
@@ -19,7 +30,17 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    // Optional so the JMH benchmarks can build this class without a Spring context
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     private SecretKey key;
+    private JwtParser parser;
+    // Claims of tokens whose signature already checked out, held until the token itself expires
+    private Cache<String, Claims> verifiedTokens;
     private final long EXPIRATION = 1000 * 60 * 60 * 10;
 
     @PostConstruct
@@ -35,18 +56,69 @@ public class JwtUtil {
         } else {
             this.key = Keys.hmacShaKeyFor(keyBytes);
         }
+
+        // Immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            // cache.gets{cache="jwt.verifiedTokens",result=hit|miss}: the share of requests that skip signature checks
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verifiedTokens");
+        }
+    }
+
+    /**
+     * Verifies the token and returns its claims, throwing a {@link io.jsonwebtoken.JwtException}
+     * when it is malformed, tampered with or expired. A token that verified before is answered
+     * from the cache without checking the signature again. Callers must treat the claims as read-only.
+     */
+    public Claims parseClaims(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            // Tokens without an expiry are never cached, they would otherwise stay valid forever
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+        }
+        return claims;
     }
 
-    public String generateAccessToken(String username, Long userId) {
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+
+    // Carries everything JwtAuthFilter needs, so authenticating a request never has to load the user
+    public String generateAccessToken(String username, Long userId, String role) {
         try {
             String token = Jwts.builder()
                     .setSubject(username)
-                    .claim("userId", userId)
+                    .claim(USER_ID_CLAIM, userId)
+                    .claim(ROLE_CLAIM, role)
                     .setIssuedAt(new Date())
                     .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 15)) // 15 mins
                     .signWith(key, SignatureAlgorithm.HS256)
                     .compact();
-            log.info("Generated access token for user: {}", username);
+            log.debug("Generated access token for user: {}", username);
             return token;
         } catch (Exception e) {
             log.error("Error generating access token for user: {}", username, e);
@@ -62,7 +134,7 @@ public class JwtUtil {
                     .setExpiration(new Date(System.currentTimeMillis() + 1000L * 60 * 60 * 24 * 7)) // 7 days
                     .signWith(key, SignatureAlgorithm.HS256)
                     .compact();
-            log.info("Generated refresh token for user: {}", username);
+            log.debug("Generated refresh token for user: {}", username);
             return token;
         } catch (Exception e) {
             log.error("Error generating refresh token for user: {}", username, e);
@@ -72,13 +144,7 @@ public class JwtUtil {
 
     public String extractUsername(String token){
         try {
-            String username = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-            return username;
+            return parseClaims(token).getSubject();
         } catch (Exception e) {
             log.error("Error extracting username from token", e);
             return null;
@@ -87,13 +153,7 @@ public class JwtUtil {
 
     public Long extractUserId(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            Long userId = claims.get("userId", Long.class);
-            return userId;
+            return parseClaims(token).get(USER_ID_CLAIM, Long.class);
         } catch (Exception e) {
             log.error("Error extracting userId from token", e);
             return null;
@@ -102,11 +162,22 @@ public class JwtUtil {
 
     public boolean validateToken(String token){
         try{
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parseClaims(token);
             return true;
         }catch(Exception e){
             log.error("Token validation failed", e);
             return false;
         }
     }
+
+    // The cache is keyed by a digest so raw bearer tokens are not kept on the heap; a collision-resistant
+    // hash also means no other token can ever map onto a cached entry
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.ecommerce.server_side.security;
+
+import com.ecommerce.server_side.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Ids of disabled users, reloaded periodically, so access tokens of a disabled account stop
+ * working within one refresh interval without a user lookup on every request. Small by
+ * nature: only disabled accounts are held.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedUserCache {
+    private final UserRepository userRepository;
+
+    private volatile Set<Long> revokedUserIds = Set.of();
+
+    public boolean isRevoked(Long userId) {
+        return userId != null && revokedUserIds.contains(userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:60000}", initialDelayString = "${jwt.revocation.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            revokedUserIds = Set.copyOf(userRepository.findDisabledUserIds());
+        } catch (RuntimeException e) {
+            // Keep the previous snapshot rather than letting every token through or locking everyone out
+            log.error("Failed to refresh revoked user ids", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.server_side.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Ownership checks for per-user endpoints, used from {@code @PreAuthorize} as
+ * {@code @userAccess.isSelf(#userId)}. Compares against the user id in the current request's
+ * verified token, so no user lookup is needed.
+ */
+@Component("userAccess")
+public class UserAccess {
+
+    public boolean isSelf(Long userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (userId == null || attributes == null) {
+            return false;
+        }
+        Object claims = attributes.getAttribute(JwtAuthFilter.CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return claims instanceof Claims verified
+                && userId.equals(verified.get(JwtUtil.USER_ID_CLAIM, Long.class));
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.server_side.service;
+
+public interface CatalogVersionService {
+    String getETag();
+    long getLastModified();
+    void bump();
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.server_side.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface InventoryService {
+    int getAvailableStock(Long productId);
+    Map<Long, Integer> getAvailableStock(Collection<Long> productIds);
+    void reserve(Long orderId, SortedMap<Long, Integer> quantitiesByProductId);
+    void confirm(Long orderId);
+    boolean release(Long orderId);
+    List<Long> findExpiredReservationOrders(int limit);
+    void evict(Collection<Long> productIds);
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.server_side.service;
+
+import com.ecommerce.server_side.model.OrderEvent;
+
+import java.util.List;
+
+public interface OrderEventService {
+    List<OrderEvent> findPendingEvents(int limit);
+    boolean dispatch(Long eventId);
+    void recordFailure(Long eventId, String error);
+}
@@ -1,16 +1,24 @@
 package com.ecommerce.server_side.service;
 
 import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.OrderExportFormat;
+import com.ecommerce.server_side.dto.OrderFilter;
+import com.ecommerce.server_side.dto.PageResponse;
 import com.ecommerce.server_side.model.OrderStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface OrderService {
     OrderDTO placeOrder(OrderDTO dto);
-    List<OrderDTO> getAllOrders();
+    PageResponse<OrderDTO> getOrders(OrderFilter filter, int page, int size);
+    void exportOrders(OrderFilter filter, OrderExportFormat format, OutputStream out) throws IOException;
     List<OrderDTO> getOrdersByUser(Long userId);
     OrderDTO getOrderById(Long id);
     OrderDTO checkoutCart(Long userId);
     OrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus);
     OrderDTO updatePaymentStatus(Long orderId, String paymentId, String paymentStatus);
+    void deductStock(Long orderId);
+    boolean expireOrder(Long orderId);
 }
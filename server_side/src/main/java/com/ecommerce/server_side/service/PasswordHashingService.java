@@ -0,0 +1,7 @@
+package com.ecommerce.server_side.service;
+
+public interface PasswordHashingService {
+    String encode(String rawPassword);
+    boolean matches(String rawPassword, String encodedPassword);
+    boolean needsRehash(String encodedPassword);
+}
@@ -4,7 +4,12 @@ import com.ecommerce.server_side.dto.PaymentRequest;
 import com.ecommerce.server_side.dto.PaymentResponse;
 import com.ecommerce.server_side.dto.PaymentVerificationRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface PaymentService {
-    PaymentResponse createPaymentOrder(PaymentRequest paymentRequest);
+    /**
+     * Validates the request synchronously, then creates the gateway order off the calling thread.
+     */
+    CompletableFuture<PaymentResponse> createPaymentOrder(PaymentRequest paymentRequest);
     boolean verifyPayment(PaymentVerificationRequest verificationRequest);
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.server_side.service;
+
+import java.util.List;
+
+public interface PaymentWebhookService {
+    boolean isSignatureValid(byte[] payload, String signature);
+    boolean enqueue(byte[] payload);
+    List<Long> findPendingEventIds(int limit);
+    void processEvent(Long eventId);
+    void recordFailure(Long eventId, String error);
+}
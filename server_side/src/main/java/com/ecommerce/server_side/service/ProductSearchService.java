@@ -0,0 +1,12 @@
+package com.ecommerce.server_side.service;
+
+import com.ecommerce.server_side.dto.ProductDTO;
+
+import java.util.List;
+
+public interface ProductSearchService {
+    List<ProductDTO> search(String query, String category, int limit);
+    void index(ProductDTO product);
+    void remove(Long productId);
+    void rebuild();
+}
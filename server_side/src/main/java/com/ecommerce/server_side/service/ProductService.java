@@ -1,12 +1,17 @@
 package com.ecommerce.server_side.service;
 
+import com.ecommerce.server_side.dto.PageResponse;
 import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.dto.ProductFilter;
 
 import java.util.List;
 
 public interface ProductService {
     ProductDTO createProduct(ProductDTO dto);
     List<ProductDTO> getAllProducts();
+    PageResponse<ProductDTO> getProducts(ProductFilter filter, int page, int size, String sort);
+    PageResponse<ProductDTO> scrollProducts(ProductFilter filter, Long afterId, int size);
+    List<String> getAllCategories();
     ProductDTO getProductById(Long id);
     ProductDTO updateProduct(Long id, ProductDTO dto);
     void deleteProduct(Long id);
@@ -0,0 +1,10 @@
+package com.ecommerce.server_side.service;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.model.Order;
+
+public interface UserOrderSummaryService {
+    PageResponse<OrderDTO> getOrderSummaries(Long userId, Long afterOrderId, int size);
+    void refresh(Order order);
+}
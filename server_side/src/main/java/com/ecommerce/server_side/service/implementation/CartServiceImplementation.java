@@ -5,19 +5,17 @@ import com.ecommerce.server_side.dto.CartItemDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.ecommerce.server_side.model.Cart;
-import com.ecommerce.server_side.model.CartItem;
-import com.ecommerce.server_side.model.Product;
 import com.ecommerce.server_side.model.User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.ecommerce.server_side.repository.CartItemRepository;
 import com.ecommerce.server_side.repository.CartRepository;
-import com.ecommerce.server_side.repository.ProductRepository;
 import com.ecommerce.server_side.repository.UserRepository;
 import com.ecommerce.server_side.service.CartService;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -26,108 +24,83 @@ public class CartServiceImplementation implements CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public CartDTO getCartByUserId(Long userId) {
-        log.info("Fetching cart for user ID: {}", userId);
-        
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    log.info("No cart found for user ID: {}, creating new cart", userId);
-                    return createEmptyCart(userId);
-                });
-        
-        log.info("Cart found with {} items", cart.getItems().size());
-        CartDTO result = mapToDTO(cart);
-        log.info("Mapped cart DTO with {} items", result.getItems().size());
-        
-        return result;
+        log.debug("Fetching cart for user ID: {}", userId);
+        // A user without a cart simply has an empty one; it is created on the first add.
+        // Checkout prices and stock-checks the cart through this same evaluation
+        return cartView(userId);
     }
 
     @Override
+    @Transactional
     public CartDTO addToCart(Long userId, Long productId, int quantity) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> createEmptyCart(userId));
-
-        Optional<CartItem> existingItem = cart.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            item.setQuantity(item.getQuantity() + quantity);
-            cartItemRepository.save(item);
-        } else {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
-
-            CartItem newItem = CartItem.builder()
-                    .product(product)
-                    .quantity(quantity)
-                    .cart(cart)
-                    .build();
-            
-            CartItem savedItem = cartItemRepository.save(newItem);
-            cart.getItems().add(savedItem);
+        requirePositive(quantity);
+        int added = cartItemRepository.addQuantity(userId, productId, quantity);
+        if (added == 0 && !cartRepository.existsByUserId(userId)) {
+            createEmptyCart(userId);
+            added = cartItemRepository.addQuantity(userId, productId, quantity);
         }
-
-        cart = cartRepository.save(cart);
-        return mapToDTO(cart);
+        // The upsert joins the product, so nothing is written for an unknown one
+        if (added == 0) {
+            throw new RuntimeException("Product not found");
+        }
+        return cartView(userId);
     }
 
     @Override
+    @Transactional
     public CartDTO updateItem(Long userId, Long productId, int quantity) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
-
-        cart.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst()
-                .ifPresent(item -> {
-                    item.setQuantity(quantity);
-                    cartItemRepository.save(item);
-                });
-
-        cart = cartRepository.save(cart);
-        return mapToDTO(cart);
+        requirePositive(quantity);
+        cartItemRepository.setQuantity(userId, productId, quantity);
+        return cartView(userId);
     }
 
     @Override
+    @Transactional
     public CartDTO removeItem(Long userId, Long productId) {
-        log.info("removeItem called: userId={}, productId={}", userId, productId);
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    log.warn("No cart for userId={}, creating empty cart for idempotent remove", userId);
-                    return createEmptyCart(userId);
-                });
-
-        log.info("Cart has {} items before remove", cart.getItems().size());
-        CartItem toRemove = cart.getItems().stream()
-                .peek(ci -> log.info("Inspect item: productId={}, quantity={}", ci.getProduct().getId(), ci.getQuantity()))
-                .filter(item -> item.getProduct().getId().equals(productId))
-                .findFirst()
-                .orElse(null);
-
-        if (toRemove != null) {
-            cart.getItems().remove(toRemove);
-            log.info("Removed item for productId={}", productId);
-        } else {
-            log.warn("No cart item found for productId={} — returning current cart (idempotent)", productId);
+        log.debug("removeItem called: userId={}, productId={}", userId, productId);
+        // Idempotent: removing an item that is not in the cart returns the cart unchanged
+        if (cartItemRepository.deleteItem(userId, productId) == 0) {
+            log.debug("No cart item found for productId={} — returning current cart (idempotent)", productId);
         }
-
-        Cart saved = cartRepository.save(cart);
-        log.info("Cart now has {} items after remove", saved.getItems().size());
-        return mapToDTO(saved);
+        return cartView(userId);
     }
 
     @Override
+    @Transactional
     public void clearCart(Long userId) {
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Cart not found"));
-        // Clear items; orphanRemoval will delete children
-        cart.getItems().clear();
-        cartRepository.save(cart);
+        cartItemRepository.deleteAllItems(userId);
+    }
+
+    // Evaluates the cart: prices and stock come from the same joined select as the lines, so
+    // the view is consistent with itself however many lines the cart has
+    private CartDTO cartView(Long userId) {
+        return evaluate(userId, cartItemRepository.findCartView(userId));
+    }
+
+    // Package-private and static so the JMH benchmarks in src/jmh can call it directly
+    static CartDTO evaluate(Long userId, List<CartItemDTO> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItemDTO item : items) {
+            item.setLineTotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            item.setOutOfStock(item.getAvailableStock() < item.getQuantity());
+            item.setPriceChanged(item.getAddedPrice() != null && item.getAddedPrice().compareTo(item.getPrice()) != 0);
+            total = total.add(item.getLineTotal());
+        }
+        return CartDTO.builder()
+                .userId(userId)
+                .items(items)
+                .total(total)
+                .build();
+    }
+
+    private void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
     }
 
     private Cart createEmptyCart(Long userId) {
@@ -141,32 +114,4 @@ public class CartServiceImplementation implements CartService {
 
         return cartRepository.save(cart);
     }
-
-    private CartDTO mapToDTO(Cart cart) {
-        log.info("Mapping cart to DTO for user ID: {}", cart.getUser().getId());
-        
-        List<CartItemDTO> items = cart.getItems().stream()
-                .map(item -> {
-                    log.info("Mapping cart item: productId={}, quantity={}, productName={}", 
-                            item.getProduct().getId(), item.getQuantity(), item.getProduct().getName());
-                    
-                    return CartItemDTO.builder()
-                            .productId(item.getProduct().getId())
-                            .name(item.getProduct().getName())
-                            .description(item.getProduct().getDescription())
-                            .price(item.getProduct().getPrice())
-                            .imageUrl(item.getProduct().getImageUrl())
-                            .quantity(item.getQuantity())
-                            .build();
-                })
-                .toList();
-
-        CartDTO result = CartDTO.builder()
-                .userId(cart.getUser().getId())
-                .items(items)
-                .build();
-        
-        log.info("Mapped cart DTO with {} items for user ID: {}", items.size(), result.getUserId());
-        return result;
-    }
 }
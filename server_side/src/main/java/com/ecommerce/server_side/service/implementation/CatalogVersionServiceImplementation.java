@@ -0,0 +1,39 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.service.CatalogVersionService;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of the product catalog, bumped after every committed product write.
+ * Listing responses are tagged with it so revalidation costs neither a query nor serialization.
+ * The counter is seeded with the boot time so tags from a previous process never match.
+ */
+@Service
+public class CatalogVersionServiceImplementation implements CatalogVersionService {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = currentSecond();
+
+    @Override
+    public String getETag() {
+        return "\"catalog-" + epoch + "-" + version.get() + "\"";
+    }
+
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void bump() {
+        version.incrementAndGet();
+        lastModified = currentSecond();
+    }
+
+    // HTTP dates only carry whole seconds
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+}
@@ -0,0 +1,252 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.event.ProductChangedEvent;
+import com.ecommerce.server_side.model.OrderItem;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.StockReservation;
+import com.ecommerce.server_side.repository.OrderItemRepository;
+import com.ecommerce.server_side.repository.ProductRepository;
+import com.ecommerce.server_side.repository.StockReservationRepository;
+import com.ecommerce.server_side.service.InventoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Checkout places a hold on every SKU in the cart; payment confirmation turns the hold into a
+ * permanent decrement and the sweeper hands expired holds back. Holds live in stock_reservation
+ * and are mirrored by product.reserved, so available-to-sell is simply stock - reserved.
+ *
+ * Available-to-sell is also kept per SKU in memory. Entries are loaded on first read and dropped
+ * after every committed change, so the next read reloads the committed value; the whole map is
+ * cleared periodically as well, which bounds the staleness of anything changed behind our back
+ * (another instance, a manual SQL fix).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryServiceImplementation implements InventoryService {
+    // Orders whose holds are converted by the stock listener, never released by the sweeper
+    private static final Set<OrderStatus> PAID_STATUSES = EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final StockReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Integer> availableStock = new ConcurrentHashMap<>();
+    // Bumped by every eviction of the SKU; a load only caches its result if no eviction happened
+    // since it started, so a pre-commit figure is never re-inserted after the eviction
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Value("${inventory.reservation.ttl:15m}")
+    private Duration reservationTtl;
+
+    @Override
+    public int getAvailableStock(Long productId) {
+        Integer available = availableStock.get(productId);
+        if (available != null) {
+            return available;
+        }
+
+        // Loaded outside any map lock: a query under computeIfAbsent would hold the bin's monitor
+        // and pin the carrier thread when running on virtual threads
+        long generation = generation(productId).get();
+        available = productRepository.findAvailableStock(List.of(productId)).get(productId);
+        if (available == null) {
+            throw new RuntimeException("Product not found");
+        }
+        cacheIfCurrent(productId, available, generation);
+        return available;
+    }
+
+    @Override
+    public Map<Long, Integer> getAvailableStock(Collection<Long> productIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : productIds) {
+            Integer available = availableStock.get(id);
+            if (available != null) {
+                result.put(id, available);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        // One query for every cold entry rather than one per SKU
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loadGenerations = new HashMap<>();
+            missing.forEach(id -> loadGenerations.put(id, generation(id).get()));
+            productRepository.findAvailableStock(missing).forEach((id, available) -> {
+                cacheIfCurrent(id, available, loadGenerations.get(id));
+                result.put(id, available);
+            });
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void reserve(Long orderId, SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Long> rejected = productRepository.reserveStock(quantitiesByProductId);
+        if (!rejected.isEmpty()) {
+            log.warn("Insufficient stock for product IDs: {} on order ID: {}", rejected, orderId);
+            stockRejected("reserve", rejected.size());
+            throw insufficientStock(rejected);
+        }
+
+        Instant expiresAt = Instant.now().plus(reservationTtl);
+        List<StockReservation> holds = quantitiesByProductId.entrySet().stream()
+                .map(entry -> StockReservation.builder()
+                        .orderId(orderId)
+                        .productId(entry.getKey())
+                        .quantity(entry.getValue())
+                        .expiresAt(expiresAt)
+                        .build())
+                .collect(Collectors.toList());
+        reservationRepository.saveAll(holds);
+
+        evictAfterCommit(quantitiesByProductId.keySet());
+        log.info("Reserved {} products for order ID: {} until {}", holds.size(), orderId, expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public void confirm(Long orderId) {
+        SortedMap<Long, Integer> held = sumByProduct(reservationRepository.findByOrderId(orderId));
+
+        SortedMap<Long, Integer> quantities;
+        if (!held.isEmpty() && reservationRepository.deleteByOrderId(orderId) > 0) {
+            quantities = held;
+            productRepository.commitReservedStock(quantities);
+        } else {
+            // The hold already expired (or the order predates reservations): take the stock
+            // directly, which only succeeds if nobody else has bought it in the meantime
+            quantities = orderItemRepository.findByOrderId(orderId).stream()
+                    .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItem::getQuantity, Integer::sum, TreeMap::new));
+            List<Long> rejected = productRepository.decrementStock(quantities);
+            if (!rejected.isEmpty()) {
+                log.error("Insufficient stock for product IDs: {} on order ID: {}", rejected, orderId);
+                stockRejected("confirm", rejected.size());
+                // Rolls back the decrements that did succeed in the same batch
+                throw insufficientStock(rejected);
+            }
+        }
+        log.info("Reduced stock for order ID: {} across {} products", orderId, quantities.size());
+
+        // The listener drops the cached products and their available-to-sell entries after commit
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(quantities.keySet()));
+    }
+
+    @Override
+    @Transactional
+    public boolean release(Long orderId) {
+        SortedMap<Long, Integer> held = sumByProduct(reservationRepository.findByOrderId(orderId));
+        if (held.isEmpty() || reservationRepository.deleteByOrderId(orderId) == 0) {
+            return false;
+        }
+
+        productRepository.releaseReservedStock(held);
+        evictAfterCommit(held.keySet());
+        log.info("Released reservation for order ID: {} across {} products", orderId, held.size());
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findExpiredReservationOrders(int limit) {
+        return reservationRepository.findExpiredOrderIds(Instant.now(), PAID_STATUSES, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void evict(Collection<Long> productIds) {
+        for (Long id : productIds) {
+            // Bump first: a load that checks its generation after this will not cache
+            generation(id).incrementAndGet();
+            availableStock.remove(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.available-stock.refresh-ms:300000}")
+    public void refreshAvailableStock() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        availableStock.clear();
+    }
+
+    private AtomicLong generation(Long productId) {
+        return generations.computeIfAbsent(productId, id -> new AtomicLong());
+    }
+
+    private void cacheIfCurrent(Long productId, Integer available, long loadedAtGeneration) {
+        AtomicLong generation = generation(productId);
+        if (generation.get() != loadedAtGeneration) {
+            return;
+        }
+        availableStock.putIfAbsent(productId, available);
+        // An eviction between the check and the put has already run its remove; undo the put
+        if (generation.get() != loadedAtGeneration) {
+            availableStock.remove(productId, available);
+        }
+    }
+
+    // Holds merged per product in ascending id order, the lock order every stock update uses
+    private SortedMap<Long, Integer> sumByProduct(List<StockReservation> holds) {
+        return holds.stream()
+                .collect(Collectors.toMap(StockReservation::getProductId, StockReservation::getQuantity, Integer::sum, TreeMap::new));
+    }
+
+    // One increment per product that could not be covered; stage is reserve (checkout) or confirm (payment)
+    private void stockRejected(String stage, int products) {
+        Counter.builder("inventory.stock.rejected")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment(products);
+    }
+
+    private RuntimeException insufficientStock(List<Long> productIds) {
+        String names = productRepository.findAllById(productIds).stream()
+                .map(Product::getName)
+                .collect(Collectors.joining(", "));
+        return new RuntimeException("Insufficient stock for product: " + names);
+    }
+
+    private void evictAfterCommit(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+}
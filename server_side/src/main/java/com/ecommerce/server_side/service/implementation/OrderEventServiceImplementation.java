@@ -0,0 +1,77 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.event.OrderLifecycleEvent;
+import com.ecommerce.server_side.model.OrderEvent;
+import com.ecommerce.server_side.model.OrderEventStatus;
+import com.ecommerce.server_side.repository.OrderEventRepository;
+import com.ecommerce.server_side.service.OrderEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Delivers order outbox events to the in-process listeners. Each event is published inside its
+ * own transaction together with marking it dispatched: listener database work and the outbox
+ * update commit or roll back as one, and a failed event is simply delivered again later.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventServiceImplementation implements OrderEventService {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderEventRepository orderEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${orders.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderEvent> findPendingEvents(int limit) {
+        return orderEventRepository.findByStatus(OrderEventStatus.PENDING, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public boolean dispatch(Long eventId) {
+        // The row lock keeps two dispatchers (or two instances) from delivering the same event
+        OrderEvent event = orderEventRepository.findForUpdateById(eventId).orElse(null);
+        if (event == null || event.getStatus() != OrderEventStatus.PENDING) {
+            return true;
+        }
+        if (orderEventRepository.existsByOrderIdAndStatusAndIdLessThan(event.getOrderId(), OrderEventStatus.PENDING, eventId)) {
+            return false;
+        }
+
+        // Listeners run synchronously in this transaction; an exception rolls all of it back
+        eventPublisher.publishEvent(new OrderLifecycleEvent(event.getId(), event.getOrderId(), event.getType(), event.getCreatedAt()));
+
+        event.setAttempts(event.getAttempts() + 1);
+        event.setStatus(OrderEventStatus.DISPATCHED);
+        event.setDispatchedAt(Instant.now());
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(Long eventId, String error) {
+        orderEventRepository.findById(eventId).ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (event.getAttempts() >= maxAttempts) {
+                // Parked so the order's later events are not held up for good
+                log.error("Giving up on order event ID: {} ({} for order ID: {}) after {} attempts",
+                        eventId, event.getType(), event.getOrderId(), event.getAttempts());
+                event.setStatus(OrderEventStatus.FAILED);
+            }
+        });
+    }
+}
@@ -1,42 +1,95 @@
 package com.ecommerce.server_side.service.implementation;
 
+import com.ecommerce.server_side.dto.CartDTO;
+import com.ecommerce.server_side.dto.CartItemDTO;
 import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.OrderExportFormat;
+import com.ecommerce.server_side.dto.OrderExportRow;
+import com.ecommerce.server_side.dto.OrderFilter;
 import com.ecommerce.server_side.dto.OrderItemDTO;
+import com.ecommerce.server_side.dto.PageResponse;
 import com.ecommerce.server_side.model.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.ecommerce.server_side.repository.CartRepository;
 import com.ecommerce.server_side.repository.CartItemRepository;
+import com.ecommerce.server_side.repository.OrderEventRepository;
 import com.ecommerce.server_side.repository.OrderRepository;
 import com.ecommerce.server_side.repository.OrderItemRepository;
+import com.ecommerce.server_side.repository.OrderSpecifications;
 import com.ecommerce.server_side.repository.ProductRepository;
 import com.ecommerce.server_side.repository.UserRepository;
+import com.ecommerce.server_side.service.CartService;
+import com.ecommerce.server_side.service.InventoryService;
 import com.ecommerce.server_side.service.OrderService;
-
+import com.ecommerce.server_side.service.UserOrderSummaryService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImplementation implements OrderService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    // Payment status of an order paid after it expired or was cancelled; refunded by hand
+    static final String REFUND_REQUIRED = "REFUND_REQUIRED";
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final InventoryService inventoryService;
+    private final CartService cartService;
+    private final UserOrderSummaryService userOrderSummaryService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private Counter checkouts;
+    private Counter refundsRequired;
+
+    @PostConstruct
+    public void init() {
+        checkouts = Counter.builder("orders.checkouts")
+                .description("Carts turned into orders")
+                .register(meterRegistry);
+        refundsRequired = Counter.builder("orders.refunds.required")
+                .description("Payments received for orders that had already expired or been cancelled")
+                .register(meterRegistry);
+    }
 
     @Override
+    @Transactional
     public OrderDTO placeOrder(OrderDTO dto) {
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Product> products = productRepository.findAllById(dto.getProductIds());
-
         Order order = Order.builder()
                 .user(user)
                 .orderDate(LocalDateTime.now())
@@ -44,37 +97,81 @@ public class OrderServiceImplementation implements OrderService {
                 .build();
 
         Order saved = orderRepository.save(order);
+        appendEvent(saved, OrderEventType.PLACED);
 
         return mapToDTO(saved);
     }
 
     @Override
-    public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<OrderDTO> getOrders(OrderFilter filter, int page, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(size, MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "orderDate", "id"));
+
+        // Page over the orders alone, then fetch items for just that page; fetch-joining the
+        // collection in the paged query would make Hibernate paginate in memory
+        Page<Order> result = orderRepository.findAll(OrderSpecifications.matching(filter), pageRequest);
+        List<Long> ids = result.getContent().stream().map(Order::getId).toList();
+        Map<Long, Order> withItems = ids.isEmpty() ? Map.of() : orderRepository.findWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return PageResponse.<OrderDTO>builder()
+                .content(ids.stream().map(withItems::get).map(OrderServiceImplementation::mapToDTO).collect(Collectors.toList()))
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .last(result.isLast())
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderFilter filter, OrderExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == OrderExportFormat.CSV) {
+            writer.write("id,userId,orderDate,status,paymentStatus,totalAmount,razorpayOrderId,razorpayPaymentId\n");
+        }
+
+        try (Stream<Order> orders = orderRepository.streamAll(OrderSpecifications.matching(filter), EXPORT_FETCH_SIZE)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                OrderExportRow row = mapToExportRow(iterator.next());
+                if (format == OrderExportFormat.CSV) {
+                    writer.write(toCsvLine(row));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByUser(Long userId) {
         return orderRepository.findByUserId(userId)
                 .stream()
-                .map(this::mapToDTO)
+                .map(OrderServiceImplementation::mapToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long id) {
-        return orderRepository.findById(id)
-                .map(this::mapToDTO)
+        return orderRepository.findWithItemsById(id)
+                .map(OrderServiceImplementation::mapToDTO)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
     @Override
     @Transactional
     public OrderDTO checkoutCart(Long userId) {
-        log.info("Starting checkout process for user ID: {}", userId);
+        log.debug("Starting checkout process for user ID: {}", userId);
         
         // Find user
         User user = userRepository.findById(userId)
@@ -83,127 +180,229 @@ public class OrderServiceImplementation implements OrderService {
                     return new RuntimeException("User not found");
                 });
 
-        // Find cart
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> {
-                    log.error("Cart not found for user ID: {}", userId);
-                    return new RuntimeException("Cart not found");
-                });
+        // Price and stock-check the whole cart in one query, exactly as the cart page shows it
+        CartDTO cart = cartService.getCartByUserId(userId);
 
         if (cart.getItems().isEmpty()) {
             log.error("Cart is empty for user ID: {}", userId);
             throw new RuntimeException("Cart is empty");
         }
 
-        log.info("Cart found with {} items for user ID: {}", cart.getItems().size(), userId);
-
-        // Calculate total
-        double totalAmount = cart.getItems().stream()
-                .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
-                .sum();
+        log.debug("Cart found with {} items for user ID: {}", cart.getItems().size(), userId);
 
-        log.info("Total amount calculated: {} for user ID: {}", totalAmount, userId);
+        // Fails before anything is written; the reservation below still has the final say
+        List<String> unavailable = cart.getItems().stream()
+                .filter(CartItemDTO::isOutOfStock)
+                .map(CartItemDTO::getName)
+                .toList();
+        if (!unavailable.isEmpty()) {
+            log.warn("Checkout rejected for user ID: {}, insufficient stock for {}", userId, unavailable);
+            throw new RuntimeException("Insufficient stock for product: " + String.join(", ", unavailable));
+        }
 
         // Create order
         Order order = Order.builder()
                 .user(user)
                 .orderDate(LocalDateTime.now())
                 .status(OrderStatus.PENDING)
-                .totalAmount(totalAmount)
                 .paymentStatus("PENDING")
                 .build();
 
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order created with ID: {} for user ID: {}", savedOrder.getId(), userId);
-
-        // Create order items
+        // Create order items at the current prices; the product is only referenced, not loaded
         List<OrderItem> orderItems = cart.getItems().stream()
-                .map(cartItem -> OrderItem.builder()
-                        .order(savedOrder)
-                        .product(cartItem.getProduct())
-                        .quantity(cartItem.getQuantity())
+                .map(line -> OrderItem.builder()
+                        .order(order)
+                        .product(productRepository.getReferenceById(line.getProductId()))
+                        .quantity(line.getQuantity())
+                        .unitPrice(line.getPrice())
+                        .productName(line.getName())
+                        .productImageUrl(line.getImageUrl())
                         .build())
                 .collect(Collectors.toList());
 
+        // The total is the evaluated cart total, the same sum of the line snapshots
+        BigDecimal totalAmount = cart.getTotal();
+        order.setTotalAmount(totalAmount);
+        log.debug("Total amount calculated: {} for user ID: {}", totalAmount, userId);
+
+        order.setOrderItems(orderItems);
+        Order savedOrder = orderRepository.save(order);
+        log.info("Order created with ID: {} for user ID: {}", savedOrder.getId(), userId);
+
         orderItemRepository.saveAll(orderItems);
-        log.info("Order items created for order ID: {}", savedOrder.getId());
+        log.debug("Order items created for order ID: {}", savedOrder.getId());
 
-        // Clear the cart properly
-        try {
-            cart.getItems().clear();
-            cartRepository.save(cart);
-            log.info("Cart cleared successfully for user ID: {}", userId);
-        } catch (Exception e) {
-            log.error("Error clearing cart for user ID: {}", userId, e);
-            // Don't throw exception here as order is already created
-        }
+        // Hold the stock until payment completes or the hold expires; fails the whole checkout
+        // when any line can no longer be covered
+        SortedMap<Long, Integer> quantities = orderItems.stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItem::getQuantity, Integer::sum, TreeMap::new));
+        inventoryService.reserve(savedOrder.getId(), quantities);
+
+        // One statement instead of orphan-removing every line through the collection
+        cartItemRepository.deleteAllItems(userId);
+        log.debug("Cart cleared for user ID: {}", userId);
 
+        appendEvent(savedOrder, OrderEventType.PLACED);
+        checkouts.increment();
         return mapToDTO(savedOrder);
     }
 
     @Override
     @Transactional
     public OrderDTO updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-
-        OrderStatus oldStatus = order.getStatus();
-        order.setStatus(newStatus);
-        Order updated = orderRepository.save(order);
-
-        // If order is being confirmed, reduce stock
-        if (oldStatus != OrderStatus.CONFIRMED && newStatus == OrderStatus.CONFIRMED) {
-            reduceStockForOrder(orderId);
+        Order order = lockWithItems(orderId);
+
+        // Stock is deducted or handed back by the outbox listeners, not inline
+        if (order.getStatus() != newStatus) {
+            order.setStatus(newStatus);
+            appendEvent(order, switch (newStatus) {
+                case CONFIRMED -> OrderEventType.CONFIRMED;
+                case CANCELLED -> OrderEventType.CANCELLED;
+                default -> OrderEventType.STATUS_CHANGED;
+            });
         }
 
+        Order updated = orderRepository.save(order);
         return mapToDTO(updated);
     }
 
     @Override
     @Transactional
     public OrderDTO updatePaymentStatus(Long orderId, String paymentId, String paymentStatus) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+        Order order = lockWithItems(orderId);
+
+        // The client callback and the payment webhook both report the same payment; whichever
+        // arrives second finds it completed and changes nothing
+        if ("COMPLETED".equals(order.getPaymentStatus())) {
+            if (paymentId != null && !paymentId.equals(order.getRazorpayPaymentId())) {
+                log.warn("Order ID: {} already paid by {}, ignoring {} for payment {}",
+                        orderId, order.getRazorpayPaymentId(), paymentStatus, paymentId);
+            }
+            return mapToDTO(order);
+        }
+
+        // Expired or cancelled first: its holds are already back on sale, so confirming now could
+        // oversell. The payment is recorded and the order flagged for a refund instead
+        if (order.getStatus() == OrderStatus.CANCELLED && "COMPLETED".equals(paymentStatus)) {
+            if (!REFUND_REQUIRED.equals(order.getPaymentStatus())) {
+                log.warn("Order ID: {} was paid by {} after it was cancelled; flagging it for refund", orderId, paymentId);
+                order.setRazorpayPaymentId(paymentId);
+                order.setPaymentStatus(REFUND_REQUIRED);
+                refundsRequired.increment();
+                appendEvent(order, OrderEventType.STATUS_CHANGED);
+            }
+            return mapToDTO(order);
+        }
 
+        boolean changed = !paymentStatus.equals(order.getPaymentStatus());
         order.setRazorpayPaymentId(paymentId);
         order.setPaymentStatus(paymentStatus);
         
-        // Update order status based on payment status
+        // Update order status based on payment status; the stock listener reduces stock
         if ("COMPLETED".equals(paymentStatus)) {
             order.setStatus(OrderStatus.CONFIRMED);
-            // Reduce stock when payment is completed
-            reduceStockForOrder(orderId);
+            appendEvent(order, OrderEventType.PAID);
+        } else if (changed) {
+            appendEvent(order, "FAILED".equals(paymentStatus) ? OrderEventType.PAYMENT_FAILED : OrderEventType.STATUS_CHANGED);
         }
         
         Order updated = orderRepository.save(order);
         return mapToDTO(updated);
     }
 
+    @Override
     @Transactional
-    private void reduceStockForOrder(Long orderId) {
-        log.info("Reducing stock for order ID: {}", orderId);
-        
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
-        
-        for (OrderItem orderItem : orderItems) {
-            Product product = orderItem.getProduct();
-            int currentStock = product.getStock();
-            int orderedQuantity = orderItem.getQuantity();
-            
-            if (currentStock < orderedQuantity) {
-                log.error("Insufficient stock for product ID: {}. Available: {}, Requested: {}", 
-                    product.getId(), currentStock, orderedQuantity);
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
-            }
-            
-            product.setStock(currentStock - orderedQuantity);
-            productRepository.save(product);
-            log.info("Reduced stock for product ID: {} by {}. New stock: {}", 
-                product.getId(), orderedQuantity, product.getStock());
+    public void deductStock(Long orderId) {
+        // The row lock keeps a redelivered event and a concurrent confirmation from both deducting
+        Order order = orderRepository.findForUpdateById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        if (order.isStockDeducted()) {
+            log.debug("Stock already reduced for order ID: {}", orderId);
+            return;
+        }
+        log.debug("Reducing stock for order ID: {}", orderId);
+        // Converts the checkout hold, or decrements directly when the hold has already expired
+        inventoryService.confirm(orderId);
+        order.setStockDeducted(true);
+    }
+
+    @Override
+    @Transactional
+    public boolean expireOrder(Long orderId) {
+        Order order = orderRepository.findForUpdateById(orderId).orElse(null);
+        // A paid order's holds are left for the stock listener to convert, even once expired
+        if (order != null && (order.getStatus() == OrderStatus.CONFIRMED
+                || order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED)) {
+            return false;
+        }
+        if (!inventoryService.release(orderId)) {
+            return false;
+        }
+
+        if (order != null && order.getStatus() == OrderStatus.PENDING) {
+            order.setStatus(OrderStatus.CANCELLED);
+            order.setPaymentStatus("EXPIRED");
+            orderRepository.save(order);
+            appendEvent(order, OrderEventType.EXPIRED);
+            log.info("Order ID: {} expired before payment", orderId);
+        }
+        return true;
+    }
+
+    // Written in the caller's transaction, so the event exists exactly when the change commits.
+    // The order's summary row is rewritten alongside, so "my orders" shows the change as soon
+    // as it commits rather than one outbox poll later
+    private void appendEvent(Order order, OrderEventType type) {
+        orderEventRepository.save(OrderEvent.builder()
+                .orderId(order.getId())
+                .type(type)
+                .status(OrderEventStatus.PENDING)
+                .createdAt(Instant.now())
+                .build());
+        userOrderSummaryService.refresh(order);
+    }
+
+    // Takes the order row lock first, then loads items and products with the usual entity graph
+    private Order lockWithItems(Long orderId) {
+        orderRepository.findForUpdateById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        return orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+
+    private OrderExportRow mapToExportRow(Order order) {
+        return OrderExportRow.builder()
+                .id(order.getId())
+                .userId(order.getUser() != null ? order.getUser().getId() : null)
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .totalAmount(order.getTotalAmount())
+                .razorpayOrderId(order.getRazorpayOrderId())
+                .razorpayPaymentId(order.getRazorpayPaymentId())
+                .build();
+    }
+
+    private String toCsvLine(OrderExportRow row) {
+        return Stream.of(row.getId(), row.getUserId(), row.getOrderDate(), row.getStatus(), row.getPaymentStatus(),
+                        row.getTotalAmount(), row.getRazorpayOrderId(), row.getRazorpayPaymentId())
+                .map(this::csvField)
+                .collect(Collectors.joining(","));
+    }
+
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
         }
+        return text;
     }
 
-    private OrderDTO mapToDTO(Order order) {
+    // Package-private and static so the JMH benchmarks in src/jmh can call it directly
+    static OrderDTO mapToDTO(Order order) {
         if (order == null) {
             return null;
         }
@@ -219,17 +418,17 @@ public class OrderServiceImplementation implements OrderService {
             order.getOrderItems().stream()
                 .filter(orderItem -> orderItem != null && orderItem.getProduct() != null)
                 .map(orderItem -> {
-                    String productName = orderItem.getProduct().getName();
-                    Double productPrice = orderItem.getProduct().getPrice();
-                    Integer quantity = orderItem.getQuantity();
+                    // Only the snapshot columns are read; getId() on the lazy product does not load it
+                    String productName = orderItem.getProductName();
+                    BigDecimal productPrice = orderItem.getUnitPrice();
                     
                     return OrderItemDTO.builder()
                         .id(orderItem.getId())
                         .productId(orderItem.getProduct().getId())
                         .productName(productName != null ? productName : "Unknown Product")
-                        .productImageUrl(orderItem.getProduct().getImageUrl())
-                        .productPrice(productPrice != null ? productPrice : 0.0)
-                        .quantity(quantity != null ? quantity : 0)
+                        .productImageUrl(orderItem.getProductImageUrl())
+                        .productPrice(productPrice != null ? productPrice : BigDecimal.ZERO)
+                        .quantity(orderItem.getQuantity())
                         .build();
                 })
                 .collect(Collectors.toList()) :
@@ -3,21 +3,32 @@ package com.ecommerce.server_side.service.implementation;
 import com.ecommerce.server_side.dto.PaymentRequest;
 import com.ecommerce.server_side.dto.PaymentResponse;
 import com.ecommerce.server_side.dto.PaymentVerificationRequest;
+import com.ecommerce.server_side.gateway.GatewayCallExecutor;
+import com.ecommerce.server_side.gateway.GatewayOrderRequest;
+import com.ecommerce.server_side.gateway.PaymentGateway;
+import com.ecommerce.server_side.security.HmacSha256;
 import com.ecommerce.server_side.service.PaymentService;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PaymentServiceImplementation implements PaymentService {
+    private final PaymentGateway paymentGateway;
+    private final GatewayCallExecutor gatewayCallExecutor;
+    private final MeterRegistry meterRegistry;
 
     @Value("${razorpay.key.id:rzp_test_placeholder}")
     private String razorpayKeyId;
@@ -25,9 +36,20 @@ public class PaymentServiceImplementation implements PaymentService {
     @Value("${razorpay.key.secret:placeholder_secret}")
     private String razorpayKeySecret;
 
+    private HmacSha256 checkoutSignature;
+    private Counter validVerifications;
+    private Counter invalidVerifications;
+
+    @PostConstruct
+    public void init() {
+        checkoutSignature = new HmacSha256(razorpayKeySecret);
+        validVerifications = Counter.builder("payment.verifications").tag("result", "valid").register(meterRegistry);
+        invalidVerifications = Counter.builder("payment.verifications").tag("result", "invalid").register(meterRegistry);
+    }
+
     @Override
-    public PaymentResponse createPaymentOrder(PaymentRequest paymentRequest) {
-        log.info("Starting payment order creation for user: {}", paymentRequest.getUserId());
+    public CompletableFuture<PaymentResponse> createPaymentOrder(PaymentRequest paymentRequest) {
+        log.debug("Starting payment order creation for user: {}", paymentRequest.getUserId());
         
         // Validate input parameters
         if (paymentRequest == null) {
@@ -60,48 +82,49 @@ public class PaymentServiceImplementation implements PaymentService {
             throw new RuntimeException("Razorpay is not configured. Please set RAZORPAY_KEY_ID and RAZORPAY_KEY_SECRET environment variables.");
         }
         
-        log.info("Razorpay configuration found. Key ID: {}", razorpayKeyId);
-        log.info("Razorpay key length: {}", razorpayKeyId.length());
-        
-        try {
-            RazorpayClient razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-            log.info("Razorpay client created successfully");
+        int amountInPaise = (int) (paymentRequest.getAmount() * 100); // Convert to paise
 
-            JSONObject orderRequest = new JSONObject();
-            int amountInPaise = (int) (paymentRequest.getAmount() * 100); // Convert to paise
-            
-            // Validate amount conversion and minimum amount
-            if (amountInPaise <= 0) {
-                log.error("Invalid amount after conversion to paise: {}", amountInPaise);
-                throw new RuntimeException("Invalid amount after conversion to paise");
-            }
-            
-            // Razorpay minimum amount is 100 paise (₹1)
-            if (amountInPaise < 100) {
-                log.error("Amount too low. Minimum amount is 100 paise (₹1). Received: {} paise", amountInPaise);
-                throw new RuntimeException("Amount too low. Minimum amount is ₹1");
-            }
-            
-            orderRequest.put("amount", amountInPaise);
-            orderRequest.put("currency", paymentRequest.getCurrency());
-            orderRequest.put("receipt", paymentRequest.getReceipt() != null ? paymentRequest.getReceipt() : "receipt_" + System.currentTimeMillis());
-            
-            // Only add notes if they are not null or empty, and wrap them in a JSONObject
-            if (paymentRequest.getNotes() != null && !paymentRequest.getNotes().isEmpty()) {
-                JSONObject notesObject = new JSONObject();
-                notesObject.put("description", paymentRequest.getNotes()); // Wrap the string note in a JSONObject
-                orderRequest.put("notes", notesObject);
-            }
+        // Validate amount conversion and minimum amount
+        if (amountInPaise <= 0) {
+            log.error("Invalid amount after conversion to paise: {}", amountInPaise);
+            throw new RuntimeException("Invalid amount after conversion to paise");
+        }
+
+        // Razorpay minimum amount is 100 paise (₹1)
+        if (amountInPaise < 100) {
+            log.error("Amount too low. Minimum amount is 100 paise (₹1). Received: {} paise", amountInPaise);
+            throw new RuntimeException("Amount too low. Minimum amount is ₹1");
+        }
+
+        // The receipt identifies this checkout at the gateway, which is what makes retrying safe
+        String receipt = paymentRequest.getReceipt() != null
+                ? paymentRequest.getReceipt()
+                : "rcpt_" + UUID.randomUUID().toString().replace("-", "");
+        GatewayOrderRequest orderRequest = GatewayOrderRequest.builder()
+                .amountInPaise(amountInPaise)
+                .currency(paymentRequest.getCurrency())
+                .receipt(receipt)
+                .notes(paymentRequest.getNotes())
+                .build();
 
-            log.info("Creating Razorpay order with request: {}", orderRequest.toString());
-            log.info("Creating Razorpay order with amount: {} paise, currency: {}, receipt: {}", 
-                amountInPaise, paymentRequest.getCurrency(), paymentRequest.getReceipt());
+        log.debug("Creating gateway order with amount: {} paise, currency: {}, receipt: {}",
+                amountInPaise, paymentRequest.getCurrency(), receipt);
 
-            com.razorpay.Order order = razorpayClient.orders.create(orderRequest);
-            log.info("Razorpay order created successfully: {}", (String) order.get("id"));
+        AtomicBoolean attempted = new AtomicBoolean();
+        return gatewayCallExecutor.submit("create-order", true, () -> {
+            // A previous attempt may have created the order before failing to read the answer
+            if (attempted.getAndSet(true)) {
+                Optional<String> existing = paymentGateway.findOrderIdByReceipt(receipt, amountInPaise);
+                if (existing.isPresent()) {
+                    return existing.get();
+                }
+            }
+            return paymentGateway.createOrder(orderRequest);
+        }).thenApply(orderId -> {
+            log.info("Gateway order created successfully: {}", orderId);
 
             PaymentResponse response = new PaymentResponse();
-            response.setOrderId(order.get("id").toString());
+            response.setOrderId(orderId);
             response.setCurrency(paymentRequest.getCurrency());
             response.setAmount(paymentRequest.getAmount());
             response.setKey(razorpayKeyId);
@@ -110,21 +133,13 @@ public class PaymentServiceImplementation implements PaymentService {
             response.setPrefill("email");
             response.setNotes(paymentRequest.getNotes());
             response.setTheme("#3399cc");
-
-            log.info("Payment response created successfully: {}", response.getOrderId());
             return response;
-        } catch (RazorpayException e) {
-            log.error("RazorpayException occurred: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create payment order: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error occurred: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create payment order: " + e.getMessage());
-        }
+        });
     }
 
     @Override
     public boolean verifyPayment(PaymentVerificationRequest verificationRequest) {
-        log.info("Starting payment verification for order: {}", verificationRequest.getRazorpayOrderId());
+        log.debug("Starting payment verification for order: {}", verificationRequest.getRazorpayOrderId());
         
         // Validate input parameters
         if (verificationRequest == null) {
@@ -162,42 +177,17 @@ public class PaymentServiceImplementation implements PaymentService {
             
             // Create the data string in the format: razorpay_order_id|razorpay_payment_id
             String data = verificationRequest.getRazorpayOrderId() + "|" + verificationRequest.getRazorpayPaymentId();
-            log.info("Verification data string: {}", data);
-            log.info("Secret key length: {}", razorpayKeySecret.length());
-            
-            // Create HMAC SHA256 signature
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(razorpayKeySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(secretKeySpec);
-            byte[] hmacData = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hexadecimal format (Razorpay sends signature in hex format)
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hmacData) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            String calculatedSignature = hexString.toString();
-            
-            log.info("Calculated signature (hex): {}", calculatedSignature);
-            log.info("Received signature: {}", verificationRequest.getRazorpaySignature());
-            
-            // Compare signatures (case-insensitive for hex)
-            boolean isValid = calculatedSignature.equalsIgnoreCase(verificationRequest.getRazorpaySignature());
-            log.info("Payment verification result: {}", isValid);
+
+            // Razorpay sends the HMAC SHA256 in hex; compared in constant time, either case accepted
+            boolean isValid = checkoutSignature.verifyHex(data.getBytes(StandardCharsets.UTF_8),
+                    verificationRequest.getRazorpaySignature());
+            log.debug("Payment verification result: {}", isValid);
+            (isValid ? validVerifications : invalidVerifications).increment();
             
             if (!isValid) {
-                log.error("Signature verification failed. Expected: {}, Received: {}", calculatedSignature, verificationRequest.getRazorpaySignature());
-                log.error("Data string used for verification: {}", data);
-                log.error("Secret key used (first 10 chars): {}", razorpayKeySecret.substring(0, Math.min(10, razorpayKeySecret.length())));
-                
-                // Additional debugging information
-                log.error("Razorpay order ID: {}", verificationRequest.getRazorpayOrderId());
-                log.error("Razorpay payment ID: {}", verificationRequest.getRazorpayPaymentId());
-                log.error("User ID: {}", verificationRequest.getUserId());
+                log.warn("Signature verification failed for order: {}, payment: {}, user ID: {}",
+                        verificationRequest.getRazorpayOrderId(), verificationRequest.getRazorpayPaymentId(),
+                        verificationRequest.getUserId());
             }
             
             return isValid;
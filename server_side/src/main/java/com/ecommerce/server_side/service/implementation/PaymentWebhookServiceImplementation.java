@@ -0,0 +1,171 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.PaymentEvent;
+import com.ecommerce.server_side.model.PaymentEventStatus;
+import com.ecommerce.server_side.repository.OrderRepository;
+import com.ecommerce.server_side.repository.PaymentEventRepository;
+import com.ecommerce.server_side.security.HmacSha256;
+import com.ecommerce.server_side.service.OrderService;
+import com.ecommerce.server_side.service.PaymentWebhookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payment webhooks are verified and written to the payment_event inbox on the request thread,
+ * and only acted on later by the PaymentEventWorker. The request path is one signature check
+ * and one insert, and a redelivered event costs a single no-op insert.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookServiceImplementation implements PaymentWebhookService {
+    // Webhook events we act on, and the payment status each one means for the order
+    private static final Map<String, String> PAYMENT_STATUS_BY_EVENT = Map.of(
+            "payment.captured", "COMPLETED",
+            "order.paid", "COMPLETED",
+            "payment.failed", "FAILED");
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${razorpay.webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${payment.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    private HmacSha256 webhookSignature;
+
+    @PostConstruct
+    public void init() {
+        if (webhookSecret == null || webhookSecret.isEmpty()) {
+            log.warn("razorpay.webhook.secret is not set; payment webhooks will be rejected");
+            return;
+        }
+        webhookSignature = new HmacSha256(webhookSecret);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] payload, String signature) {
+        // Razorpay signs the raw request body with the webhook secret, hex encoded
+        return webhookSignature != null && webhookSignature.verifyHex(payload, signature);
+    }
+
+    @Override
+    @Transactional
+    public boolean enqueue(byte[] payload) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed webhook payload");
+        }
+
+        String eventType = root.path("event").asText();
+        if (!PAYMENT_STATUS_BY_EVENT.containsKey(eventType)) {
+            log.debug("Ignoring payment webhook event: {}", eventType);
+            return false;
+        }
+
+        JsonNode payment = root.path("payload").path("payment").path("entity");
+        String paymentId = payment.path("id").asText(null);
+        if (paymentId == null || paymentId.isEmpty()) {
+            throw new IllegalArgumentException("Webhook payload has no payment id");
+        }
+
+        int inserted = paymentEventRepository.insertIfAbsent(eventType, paymentId,
+                payment.path("order_id").asText(null), orderIdFromNotes(payment.path("notes")),
+                Instant.now(), new String(payload, StandardCharsets.UTF_8));
+        if (inserted == 0) {
+            log.info("Duplicate payment webhook {} for payment {}", eventType, paymentId);
+        }
+        return inserted > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findPendingEventIds(int limit) {
+        return paymentEventRepository.findIdsByStatus(PaymentEventStatus.PENDING, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public void processEvent(Long eventId) {
+        // The row lock keeps two workers (or two instances) from applying the same event
+        PaymentEvent event = paymentEventRepository.findForUpdateById(eventId).orElse(null);
+        if (event == null || event.getStatus() != PaymentEventStatus.PENDING) {
+            return;
+        }
+        event.setAttempts(event.getAttempts() + 1);
+        event.setProcessedAt(Instant.now());
+
+        Long orderId = resolveOrderId(event);
+        if (orderId == null) {
+            log.warn("No order found for payment {} ({})", event.getRazorpayPaymentId(), event.getEventType());
+            event.setStatus(PaymentEventStatus.IGNORED);
+            event.setLastError("No matching order");
+            return;
+        }
+
+        orderService.updatePaymentStatus(orderId, event.getRazorpayPaymentId(),
+                PAYMENT_STATUS_BY_EVENT.get(event.getEventType()));
+        event.setOrderId(orderId);
+        event.setStatus(PaymentEventStatus.PROCESSED);
+    }
+
+    @Override
+    @Transactional
+    public void recordFailure(Long eventId, String error) {
+        paymentEventRepository.findById(eventId).ifPresent(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (event.getAttempts() >= maxAttempts) {
+                log.error("Giving up on payment event ID: {} after {} attempts", eventId, event.getAttempts());
+                event.setStatus(PaymentEventStatus.FAILED);
+            }
+        });
+    }
+
+    private Long resolveOrderId(PaymentEvent event) {
+        if (event.getOrderId() != null && orderRepository.existsById(event.getOrderId())) {
+            return event.getOrderId();
+        }
+        if (event.getRazorpayOrderId() != null) {
+            return orderRepository.findFirstByRazorpayOrderId(event.getRazorpayOrderId())
+                    .map(Order::getId)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    // The checkout passes our order id as notes.order_id ("unknown" when it had none)
+    private Long orderIdFromNotes(JsonNode notes) {
+        JsonNode orderId = notes.path("order_id");
+        if (orderId.canConvertToLong()) {
+            return orderId.asLong();
+        }
+        try {
+            return orderId.isTextual() ? Long.valueOf(orderId.asText()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
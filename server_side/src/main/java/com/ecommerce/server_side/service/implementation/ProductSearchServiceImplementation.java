@@ -0,0 +1,253 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.service.ProductSearchService;
+import com.ecommerce.server_side.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, categories and description.
+ * Terms live in a sorted map so prefix lookups are a range scan; misspelt terms
+ * fall back to a bounded edit-distance scan. The index is built once at startup
+ * and then maintained incrementally from ProductChangedEvent on every product write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchServiceImplementation implements ProductSearchService {
+    private static final int MAX_LIMIT = 50;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float FUZZY_MATCH = 0.4f;
+
+    private final ProductService productService;
+
+    // term -> (productId -> field-weighted frequency)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final Map<Long, ProductDTO> products = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        List<ProductDTO> all = productService.getAllProducts();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProduct.clear();
+            products.clear();
+            all.forEach(this::indexLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} products and {} terms", all.size(), postings.size());
+    }
+
+    @Override
+    public void index(ProductDTO product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            indexLocked(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ProductDTO> search(String query, String category, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        int maxResults = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>();
+            Map<Long, Integer> matchedTerms = new HashMap<>();
+
+            for (String term : queryTerms) {
+                Map<Long, Float> termScores = scoreTerm(term);
+                termScores.forEach((productId, score) -> {
+                    scores.merge(productId, score, Float::sum);
+                    matchedTerms.merge(productId, 1, Integer::sum);
+                });
+            }
+
+            // Products matching more of the query terms always rank above partial matches
+            Comparator<Long> ranking = Comparator.<Long>comparingInt(matchedTerms::get).reversed()
+                    .thenComparing(Comparator.<Long>comparingDouble(scores::get).reversed())
+                    .thenComparing(Comparator.naturalOrder());
+
+            return scores.keySet().stream()
+                    .filter(productId -> category == null || category.isBlank() || hasCategory(products.get(productId), category))
+                    .sorted(ranking)
+                    .limit(maxResults)
+                    .map(products::get)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the read lock
+    private Map<Long, Float> scoreTerm(String term) {
+        Map<Long, Float> result = new HashMap<>();
+
+        Map<Long, Float> exact = postings.get(term);
+        if (exact != null) {
+            accumulate(result, exact, EXACT_MATCH);
+        }
+
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+            accumulate(result, entry.getValue(), PREFIX_MATCH);
+        }
+
+        if (result.isEmpty() && term.length() >= 4) {
+            int maxDistance = term.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Map<Long, Float>> entry : postings.entrySet()) {
+                String candidate = entry.getKey();
+                if (Math.abs(candidate.length() - term.length()) <= maxDistance
+                        && editDistance(term, candidate, maxDistance) <= maxDistance) {
+                    accumulate(result, entry.getValue(), FUZZY_MATCH);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void accumulate(Map<Long, Float> result, Map<Long, Float> posting, float matchFactor) {
+        // Rarer terms carry more signal than ones that appear in most of the catalog
+        float idf = (float) Math.log(1.0 + (double) products.size() / posting.size());
+        posting.forEach((productId, weight) -> result.merge(productId, weight * matchFactor * idf, Math::max));
+    }
+
+    // Caller must hold the write lock
+    private void indexLocked(ProductDTO product) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getCategories() != null) {
+            product.getCategories().forEach(category -> addTerms(weights, category, CATEGORY_WEIGHT));
+        }
+
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+        termsByProduct.put(product.getId(), new HashSet<>(weights.keySet()));
+        products.put(product.getId(), product);
+    }
+
+    // Caller must hold the write lock
+    private void removeLocked(Long productId) {
+        Set<String> terms = termsByProduct.remove(productId);
+        products.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private boolean hasCategory(ProductDTO product, String category) {
+        return product.getCategories() != null
+                && product.getCategories().stream().anyMatch(category::equalsIgnoreCase);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    // Levenshtein distance with an early exit once every cell in a row exceeds the bound
+    static int editDistance(String a, String b, int bound) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -1,36 +1,48 @@
 package com.ecommerce.server_side.service.implementation;
 
+import com.ecommerce.server_side.config.CacheConfig;
+import com.ecommerce.server_side.dto.PageResponse;
 import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.dto.ProductFilter;
+import com.ecommerce.server_side.event.ProductChangedEvent;
 import lombok.RequiredArgsConstructor;
+import com.ecommerce.server_side.model.Category;
 import com.ecommerce.server_side.model.Product;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import com.ecommerce.server_side.repository.CategoryRepository;
 import com.ecommerce.server_side.repository.ProductRepository;
+import com.ecommerce.server_side.repository.ProductSpecifications;
 import com.ecommerce.server_side.service.ProductService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImplementation implements ProductService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "price", "stock");
+
     private final ProductRepository productRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    private ProductDTO mapToDto(Product product) {
-        List<String> categories = null;
-        if (product.getCategories() != null && !product.getCategories().trim().isEmpty()) {
-            try {
-                categories = objectMapper.readValue(product.getCategories(), new TypeReference<List<String>>() {});
-            } catch (JsonProcessingException e) {
-                // If JSON parsing fails, treat as single category
-                categories = List.of(product.getCategories());
-            }
-        } else {
-            categories = List.of();
-        }
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Package-private and static so the JMH benchmarks in src/jmh can call it directly
+    static ProductDTO mapToDto(Product product) {
+        List<String> categories = product.getCategories().stream()
+                .map(Category::getName)
+                .collect(Collectors.toList());
 
         return ProductDTO.builder()
                 .id(product.getId())
@@ -40,53 +52,154 @@ public class ProductServiceImplementation implements ProductService {
                 .stock(product.getStock())
                 .categories(categories)
                 .imageUrl(product.getImageUrl())
+                .version(product.getVersion())
+                .updatedAt(product.getUpdatedAt())
                 .build();
     }
 
     private Product mapToEntity(ProductDTO dto) {
-        String categoriesJson = null;
-        if (dto.getCategories() != null && !dto.getCategories().isEmpty()) {
-            try {
-                categoriesJson = objectMapper.writeValueAsString(dto.getCategories());
-            } catch (JsonProcessingException e) {
-                // If JSON serialization fails, store as comma-separated string
-                categoriesJson = String.join(",", dto.getCategories());
-            }
-        }
-
         return Product.builder()
                 .id(dto.getId())
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .price(dto.getPrice())
                 .stock(dto.getStock())
-                .categories(categoriesJson)
+                .categories(resolveCategories(dto.getCategories()))
                 .imageUrl(dto.getImageUrl())
                 .build();
     }
 
+    // Looks up existing categories in one query and creates only the missing ones. Names are
+    // stored lower-cased, so "Books" and "books" are one category on every database, including
+    // dev ones that never ran the lower(name) index migration
+    private Set<Category> resolveCategories(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+        Set<String> wanted = names.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        // Keyed by lower-cased name, tolerating rows written before names were normalised
+        Map<String, Category> existing = categoryRepository.findByLowerNameIn(wanted).stream()
+                .collect(Collectors.toMap(category -> category.getName().toLowerCase(Locale.ROOT), Function.identity(),
+                        (first, second) -> first.getId() <= second.getId() ? first : second));
+
+        Set<Category> result = new LinkedHashSet<>();
+        for (String name : wanted) {
+            Category category = existing.get(name);
+            if (category == null) {
+                category = categoryRepository.save(Category.builder().name(name).build());
+            }
+            result.add(category);
+        }
+        return result;
+    }
+
     @Override
+    @Transactional
     public ProductDTO createProduct(ProductDTO dto) {
         Product saved = productRepository.save(mapToEntity(dto));
+        eventPublisher.publishEvent(ProductChangedEvent.catalogUpdated(saved.getId()));
         return mapToDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts() {
         return productRepository.findAll()
                 .stream()
-                .map(this::mapToDto)
+                .map(ProductServiceImplementation::mapToDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGE_CACHE, key = "{'page', #filter, #page, #size, #sort}")
+    public PageResponse<ProductDTO> getProducts(ProductFilter filter, int page, int size, String sort) {
+        int pageSize = clampPageSize(size);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, parseSort(sort));
+        Page<Product> result = productRepository.findAll(ProductSpecifications.matching(filter), pageRequest);
+
+        return PageResponse.<ProductDTO>builder()
+                .content(result.getContent().stream().map(ProductServiceImplementation::mapToDto).collect(Collectors.toList()))
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .last(result.isLast())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGE_CACHE, key = "{'scroll', #filter, #afterId, #size}")
+    public PageResponse<ProductDTO> scrollProducts(ProductFilter filter, Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        // Seek on the primary key instead of OFFSET so deep pages cost the same as the first one.
+        // One extra row is fetched to find out whether another page exists without a count query.
+        List<Product> rows = productRepository.findBy(
+                ProductSpecifications.matching(filter).and(ProductSpecifications.idGreaterThan(afterId)),
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+
+        boolean last = rows.size() <= pageSize;
+        List<Product> pageRows = last ? rows : rows.subList(0, pageSize);
+
+        return PageResponse.<ProductDTO>builder()
+                .content(pageRows.stream().map(ProductServiceImplementation::mapToDto).collect(Collectors.toList()))
+                .size(pageSize)
+                .last(last)
+                .nextCursor(last || pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1).getId())
+                .build();
+    }
+
+    private int clampPageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // Accepts "field" or "field,asc|desc"; only indexed/cheap columns may be sorted on
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        Sort order = Sort.by(direction, field);
+        // Tie-break on id so paging is stable when the sort column has duplicates
+        return "id".equals(field) ? order : order.and(Sort.by("id"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.PRODUCT_CATEGORY_CACHE)
+    public List<String> getAllCategories() {
+        return categoryRepository.findAllByOrderByNameAsc()
+                .stream()
+                .map(Category::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_CACHE, key = "#id")
     public ProductDTO getProductById(Long id) {
         return productRepository.findById(id)
-                .map(this::mapToDto)
+                .map(ProductServiceImplementation::mapToDto)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProduct(Long id, ProductDTO dto) {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -95,26 +208,21 @@ public class ProductServiceImplementation implements ProductService {
         existing.setPrice(dto.getPrice());
         existing.setStock(dto.getStock());
         
-        // Handle categories
-        String categoriesJson = null;
-        if (dto.getCategories() != null && !dto.getCategories().isEmpty()) {
-            try {
-                categoriesJson = objectMapper.writeValueAsString(dto.getCategories());
-            } catch (JsonProcessingException e) {
-                categoriesJson = String.join(",", dto.getCategories());
-            }
-        }
-        existing.setCategories(categoriesJson);
+        existing.setCategories(resolveCategories(dto.getCategories()));
         
         existing.setImageUrl(dto.getImageUrl());
-        return mapToDto(productRepository.save(existing));
+        Product saved = productRepository.save(existing);
+        eventPublisher.publishEvent(ProductChangedEvent.catalogUpdated(id));
+        return mapToDto(saved);
     }
 
     @Override
+    @Transactional
     public void deleteProduct(Long id) {
         if (!productRepository.existsById(id)) {
             throw new RuntimeException("Product not found");
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.catalogRemoved(id));
     }
 }
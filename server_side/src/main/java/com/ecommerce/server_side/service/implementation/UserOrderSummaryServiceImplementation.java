@@ -0,0 +1,87 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.UserOrderSummary;
+import com.ecommerce.server_side.repository.UserOrderSummaryRepository;
+import com.ecommerce.server_side.service.UserOrderSummaryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrderSummaryServiceImplementation implements UserOrderSummaryService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OrderDTO> getOrderSummaries(Long userId, Long afterOrderId, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        // One extra row tells whether another page exists without a count query
+        List<String> rows = userOrderSummaryRepository.findSummaries(userId,
+                afterOrderId != null ? afterOrderId : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        boolean last = rows.size() <= pageSize;
+        List<OrderDTO> content = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (String row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            content.add(read(row));
+        }
+
+        return PageResponse.<OrderDTO>builder()
+                .content(content)
+                .size(pageSize)
+                .last(last)
+                .nextCursor(last || content.isEmpty() ? null : content.get(content.size() - 1).getId())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Order order) {
+        // Rebuilt from the order as the caller's transaction sees it, so the row commits (or
+        // rolls back) together with the change it reflects
+        if (order.getUser() == null) {
+            return;
+        }
+        UserOrderSummary summary = userOrderSummaryRepository.findById(order.getId())
+                .orElseGet(() -> UserOrderSummary.builder().orderId(order.getId()).build());
+        summary.setUserId(order.getUser().getId());
+        summary.setSummary(write(OrderServiceImplementation.mapToDTO(order)));
+        summary.setUpdatedAt(Instant.now());
+        userOrderSummaryRepository.save(summary);
+        log.debug("Refreshed order summary for order ID: {}", order.getId());
+    }
+
+    private String write(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + order.getId(), e);
+        }
+    }
+
+    private OrderDTO read(String summary) {
+        try {
+            return objectMapper.readValue(summary, OrderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read order summary", e);
+        }
+    }
+}
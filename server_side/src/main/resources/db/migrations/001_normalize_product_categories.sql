@@ -0,0 +1,52 @@
+-- Moves product.categories (a TEXT column holding a JSON array) into the
+-- category / product_category tables. Every step is guarded, so the script can
+-- be re-run and also works on databases where Hibernate already created the tables.
+--
+--   psql "$DATABASE_URL" -f 001_normalize_product_categories.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS category (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS product_category (
+    product_id  BIGINT NOT NULL REFERENCES product (id),
+    category_id BIGINT NOT NULL REFERENCES category (id),
+    PRIMARY KEY (product_id, category_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_category_category_id ON product_category (category_id);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'product' AND column_name = 'categories') THEN
+
+        -- Older rows may hold a comma-separated list instead of JSON
+        CREATE TEMP TABLE legacy_product_category ON COMMIT DROP AS
+        SELECT p.id AS product_id, btrim(elem) AS name
+        FROM product p,
+             LATERAL jsonb_array_elements_text(
+                 CASE WHEN left(btrim(p.categories), 1) = '['
+                      THEN p.categories::jsonb
+                      ELSE to_jsonb(string_to_array(p.categories, ','))
+                 END) AS elem
+        WHERE p.categories IS NOT NULL AND btrim(p.categories) <> '';
+
+        INSERT INTO category (name)
+        SELECT DISTINCT name FROM legacy_product_category WHERE name <> ''
+        ON CONFLICT (name) DO NOTHING;
+
+        INSERT INTO product_category (product_id, category_id)
+        SELECT DISTINCT l.product_id, c.id
+        FROM legacy_product_category l
+        JOIN category c ON c.name = l.name
+        ON CONFLICT DO NOTHING;
+
+        ALTER TABLE product DROP COLUMN categories;
+    END IF;
+END $$;
+
+COMMIT;
@@ -0,0 +1,13 @@
+-- Adds the optimistic-lock version and last-update timestamp used for product
+-- ETag / Last-Modified headers. Existing rows start at version 0.
+--
+--   psql "$DATABASE_URL" -f 002_product_version.sql
+
+BEGIN;
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE product SET updated_at = now() WHERE updated_at IS NULL;
+
+COMMIT;
@@ -0,0 +1,8 @@
+-- Composite indexes behind the admin order listing / export (status + date range)
+-- and the per-user order history (user + date). CONCURRENTLY keeps the orders
+-- table writable while they build, so this script must run outside a transaction.
+--
+--   psql "$DATABASE_URL" -f 003_order_listing_indexes.sql
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_order_date ON orders (status, order_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_order_date ON orders (user_id, order_date);
@@ -0,0 +1,21 @@
+-- Adds checkout reservations: product.reserved mirrors the unexpired holds in
+-- stock_reservation, and available-to-sell is stock - reserved.
+--
+--   psql "$DATABASE_URL" -f 004_stock_reservations.sql
+
+BEGIN;
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS reserved INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS stock_reservation (
+    id         BIGSERIAL PRIMARY KEY,
+    order_id   BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity   INTEGER NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_order_id ON stock_reservation (order_id);
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_expires_at ON stock_reservation (expires_at);
+
+COMMIT;
@@ -0,0 +1,33 @@
+-- Adds the payment webhook inbox and the per-order stock deduction flag. Redelivered
+-- webhooks hit the (razorpay_payment_id, event_type) key and are dropped on insert.
+--
+--   psql "$DATABASE_URL" -f 005_payment_webhook_inbox.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS payment_event (
+    id                  BIGSERIAL PRIMARY KEY,
+    event_type          VARCHAR(64) NOT NULL,
+    razorpay_payment_id VARCHAR(64) NOT NULL,
+    razorpay_order_id   VARCHAR(64),
+    order_id            BIGINT,
+    status              VARCHAR(16) NOT NULL,
+    attempts            INTEGER NOT NULL DEFAULT 0,
+    last_error          VARCHAR(500),
+    received_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at        TIMESTAMP(6) WITH TIME ZONE,
+    payload             TEXT NOT NULL,
+    CONSTRAINT uk_payment_event_payment_event_type UNIQUE (razorpay_payment_id, event_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_event_status_id ON payment_event (status, id);
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS stock_deducted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Orders that were paid or confirmed before this release have had their stock taken already
+UPDATE orders
+SET stock_deducted = TRUE
+WHERE payment_status = 'COMPLETED'
+   OR status IN ('CONFIRMED', 'SHIPPED', 'DELIVERED');
+
+COMMIT;
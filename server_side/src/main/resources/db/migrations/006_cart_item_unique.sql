@@ -0,0 +1,26 @@
+-- Makes (cart_id, product_id) unique so add-to-cart can upsert the line in one statement.
+-- Duplicate lines left by the old read-then-insert path are merged into the oldest row first.
+--
+--   psql "$DATABASE_URL" -f 006_cart_item_unique.sql
+
+BEGIN;
+
+UPDATE cart_item keep
+SET quantity = dup.total
+FROM (
+    SELECT MIN(id) AS keep_id, SUM(quantity) AS total
+    FROM cart_item
+    GROUP BY cart_id, product_id
+    HAVING COUNT(*) > 1
+) dup
+WHERE keep.id = dup.keep_id;
+
+DELETE FROM cart_item extra
+USING cart_item keep
+WHERE extra.cart_id = keep.cart_id
+  AND extra.product_id = keep.product_id
+  AND extra.id > keep.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_item_cart_product ON cart_item (cart_id, product_id);
+
+COMMIT;
@@ -0,0 +1,22 @@
+-- Adds the order outbox. Order changes append a row here in their own transaction; the
+-- dispatcher hands pending rows to the in-process listeners in id order per order.
+--
+--   psql "$DATABASE_URL" -f 007_order_outbox.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS order_event (
+    id            BIGSERIAL PRIMARY KEY,
+    order_id      BIGINT NOT NULL,
+    type          VARCHAR(32) NOT NULL,
+    status        VARCHAR(16) NOT NULL,
+    attempts      INTEGER NOT NULL DEFAULT 0,
+    last_error    VARCHAR(500),
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    dispatched_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_event_status_id ON order_event (status, id);
+CREATE INDEX IF NOT EXISTS idx_order_event_order_id_id ON order_event (order_id, id);
+
+COMMIT;
@@ -0,0 +1,18 @@
+-- Moves orders and order_item ids to pooled sequences so checkout inserts can be batched.
+-- Hibernate takes 50 ids per nextval, so each sequence increments by 50 and starts one
+-- block past the current maximum id. The old serial defaults stay but are no longer used.
+--
+--   psql "$DATABASE_URL" -f 008_order_sequences.sql
+
+BEGIN;
+
+-- Blocks until checkouts on the old ids have committed, so MAX(id) below is final
+LOCK TABLE orders, order_item IN EXCLUSIVE MODE;
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_item_seq INCREMENT BY 50;
+
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+SELECT setval('order_item_seq', COALESCE((SELECT MAX(id) FROM order_item), 0) + 50, false);
+
+COMMIT;
@@ -0,0 +1,23 @@
+-- Stores the product name, image and unit price on each order line and makes order totals
+-- exact. Existing lines are backfilled from the product as it is today, which is the best
+-- record left of what was sold.
+--
+--   psql "$DATABASE_URL" -f 009_order_item_snapshot.sql
+
+BEGIN;
+
+ALTER TABLE order_item ADD COLUMN IF NOT EXISTS unit_price NUMERIC(12, 2);
+ALTER TABLE order_item ADD COLUMN IF NOT EXISTS product_name VARCHAR(255);
+ALTER TABLE order_item ADD COLUMN IF NOT EXISTS product_image_url TEXT;
+
+UPDATE order_item oi
+SET unit_price        = ROUND(p.price::NUMERIC, 2),
+    product_name      = p.name,
+    product_image_url = p.image_url
+FROM product p
+WHERE p.id = oi.product_id
+  AND oi.unit_price IS NULL;
+
+ALTER TABLE orders ALTER COLUMN total_amount TYPE NUMERIC(12, 2) USING ROUND(total_amount::NUMERIC, 2);
+
+COMMIT;
@@ -0,0 +1,47 @@
+-- Adds the "my orders" projection and fills it from the existing orders, in the same JSON
+-- shape the application writes. Safe to run again: rows are rebuilt from the order tables, so
+-- running it once more after the deploy also picks up orders placed or changed in between.
+--
+--   psql "$DATABASE_URL" -f 010_user_order_summary.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS user_order_summary (
+    order_id   BIGINT PRIMARY KEY,
+    user_id    BIGINT NOT NULL,
+    summary    TEXT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_order_summary_user_order ON user_order_summary (user_id, order_id);
+
+INSERT INTO user_order_summary (order_id, user_id, summary, updated_at)
+SELECT o.id,
+       o.user_id,
+       json_build_object(
+           'id', o.id,
+           'userId', o.user_id,
+           'productIds', COALESCE((SELECT json_agg(oi.product_id ORDER BY oi.id)
+                                   FROM order_item oi
+                                   WHERE oi.order_id = o.id AND oi.product_id IS NOT NULL), '[]'::json),
+           'orderItems', COALESCE((SELECT json_agg(json_build_object(
+                                              'id', oi.id,
+                                              'productId', oi.product_id,
+                                              'productName', COALESCE(oi.product_name, 'Unknown Product'),
+                                              'productImageUrl', oi.product_image_url,
+                                              'productPrice', COALESCE(oi.unit_price, 0),
+                                              'quantity', oi.quantity) ORDER BY oi.id)
+                                   FROM order_item oi
+                                   WHERE oi.order_id = o.id AND oi.product_id IS NOT NULL), '[]'::json),
+           'orderDate', o.order_date,
+           'status', o.status,
+           'razorpayOrderId', o.razorpay_order_id,
+           'razorpayPaymentId', o.razorpay_payment_id,
+           'totalAmount', o.total_amount,
+           'paymentStatus', o.payment_status)::TEXT,
+       NOW()
+FROM orders o
+WHERE o.user_id IS NOT NULL
+ON CONFLICT (order_id) DO UPDATE SET summary = EXCLUDED.summary, updated_at = EXCLUDED.updated_at;
+
+COMMIT;
@@ -0,0 +1,10 @@
+-- Records the price each cart line was added at, so the cart can flag lines whose price has
+-- changed since. Existing lines start without one and are never flagged.
+--
+--   psql "$DATABASE_URL" -f 011_cart_item_added_price.sql
+
+BEGIN;
+
+ALTER TABLE cart_item ADD COLUMN IF NOT EXISTS added_price NUMERIC(12, 2);
+
+COMMIT;
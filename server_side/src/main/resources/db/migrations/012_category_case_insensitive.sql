@@ -0,0 +1,38 @@
+-- Makes category names unique ignoring case, so "Books" and "books" are one category and the
+-- category filter can match lower(name) through an index. Categories that differ only in case
+-- are merged into the oldest one first, then every name is lower-cased as the app now stores them.
+--
+--   psql "$DATABASE_URL" -f 012_category_case_insensitive.sql
+
+BEGIN;
+
+CREATE TEMP TABLE category_merge ON COMMIT DROP AS
+SELECT c.id AS old_id, keep.id AS keep_id
+FROM category c
+JOIN (
+    SELECT lower(name) AS lower_name, MIN(id) AS id
+    FROM category
+    GROUP BY lower(name)
+    HAVING COUNT(*) > 1
+) keep ON lower(c.name) = keep.lower_name
+WHERE c.id <> keep.id;
+
+INSERT INTO product_category (product_id, category_id)
+SELECT pc.product_id, m.keep_id
+FROM product_category pc
+JOIN category_merge m ON m.old_id = pc.category_id
+ON CONFLICT DO NOTHING;
+
+DELETE FROM product_category pc
+USING category_merge m
+WHERE pc.category_id = m.old_id;
+
+DELETE FROM category c
+USING category_merge m
+WHERE c.id = m.old_id;
+
+UPDATE category SET name = lower(name) WHERE name <> lower(name);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_category_lower_name ON category (lower(name));
+
+COMMIT;
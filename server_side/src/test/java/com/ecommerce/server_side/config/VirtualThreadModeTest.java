@@ -0,0 +1,57 @@
+package com.ecommerce.server_side.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same switch as application.properties, so the test also covers the VIRTUAL_THREADS_ENABLED wiring
+class VirtualThreadModeTest {
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class, TaskSchedulingAutoConfiguration.class))
+			.withUserConfiguration(Scheduling.class)
+			.withPropertyValues("spring.threads.virtual.enabled=${VIRTUAL_THREADS_ENABLED:false}");
+
+	@Test
+	void asyncAndScheduledWorkRunOnVirtualThreadsWhenEnabled() {
+		contextRunner.withPropertyValues("VIRTUAL_THREADS_ENABLED=true").run(context -> {
+			assertTrue(runsOnVirtualThread(context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class)));
+			assertTrue(scheduledOnVirtualThread(context.getBean(TaskScheduler.class)));
+		});
+	}
+
+	@Test
+	void platformThreadsByDefault() {
+		contextRunner.run(context -> {
+			assertFalse(runsOnVirtualThread(context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class)));
+			assertFalse(scheduledOnVirtualThread(context.getBean(TaskScheduler.class)));
+		});
+	}
+
+	private boolean runsOnVirtualThread(AsyncTaskExecutor executor) throws Exception {
+		return executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+	}
+
+	private boolean scheduledOnVirtualThread(TaskScheduler scheduler) throws Exception {
+		CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+		scheduler.schedule(() -> virtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+		return virtual.get(5, TimeUnit.SECONDS);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableScheduling
+	static class Scheduling {
+	}
+}
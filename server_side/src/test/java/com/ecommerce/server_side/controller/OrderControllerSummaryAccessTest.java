@@ -0,0 +1,75 @@
+package com.ecommerce.server_side.controller;
+
+import com.ecommerce.server_side.config.SecurityConfig;
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.security.JwtUtil;
+import com.ecommerce.server_side.security.RevokedUserCache;
+import com.ecommerce.server_side.security.UserAccess;
+import com.ecommerce.server_side.service.OrderService;
+import com.ecommerce.server_side.service.UserOrderSummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderController.class)
+@Import({SecurityConfig.class, JwtUtil.class, UserAccess.class})
+class OrderControllerSummaryAccessTest {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@MockitoBean
+	private OrderService orderService;
+
+	@MockitoBean
+	private UserOrderSummaryService userOrderSummaryService;
+
+	@MockitoBean
+	private RevokedUserCache revokedUserCache;
+
+	@Test
+	void userReadsOwnSummaries() throws Exception {
+		when(userOrderSummaryService.getOrderSummaries(anyLong(), any(), anyInt()))
+				.thenReturn(PageResponse.<OrderDTO>builder().content(List.of()).last(true).build());
+
+		mockMvc.perform(get("/api/orders/user/1/summaries")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("buyer", 1L, "USER")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void userCannotReadAnotherUsersSummaries() throws Exception {
+		mockMvc.perform(get("/api/orders/user/2/summaries")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("buyer", 1L, "USER")))
+				.andExpect(status().isForbidden());
+
+		verifyNoInteractions(userOrderSummaryService);
+	}
+
+	@Test
+	void adminReadsAnyUsersSummaries() throws Exception {
+		when(userOrderSummaryService.getOrderSummaries(anyLong(), any(), anyInt()))
+				.thenReturn(PageResponse.<OrderDTO>builder().content(List.of()).last(true).build());
+
+		mockMvc.perform(get("/api/orders/user/2/summaries")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("admin", 9L, "ADMIN")))
+				.andExpect(status().isOk());
+	}
+}
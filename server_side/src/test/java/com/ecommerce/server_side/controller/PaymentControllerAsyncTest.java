@@ -0,0 +1,74 @@
+package com.ecommerce.server_side.controller;
+
+import com.ecommerce.server_side.config.SecurityConfig;
+import com.ecommerce.server_side.dto.PaymentResponse;
+import com.ecommerce.server_side.security.JwtUtil;
+import com.ecommerce.server_side.security.RevokedUserCache;
+import com.ecommerce.server_side.service.PaymentService;
+import com.ecommerce.server_side.service.PaymentWebhookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PaymentController.class)
+@Import({SecurityConfig.class, JwtUtil.class})
+class PaymentControllerAsyncTest {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@MockitoBean
+	private PaymentService paymentService;
+
+	@MockitoBean
+	private PaymentWebhookService paymentWebhookService;
+
+	@MockitoBean
+	private RevokedUserCache revokedUserCache;
+
+	@Test
+	void authenticatedPaymentOrderIsDeliveredOnTheAsyncDispatch() throws Exception {
+		PaymentResponse response = new PaymentResponse();
+		response.setOrderId("order_1");
+		when(paymentService.createPaymentOrder(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+		MvcResult result = mockMvc.perform(post("/api/payments/create-order")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("buyer", 1L, "USER"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"userId\":1,\"amount\":499.0,\"currency\":\"INR\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// The JWT filter does not run again here; the first dispatch already authorized the request
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.orderId").value("order_1"));
+	}
+
+	@Test
+	void anonymousPaymentOrderIsRejectedBeforeAnyAsyncWork() throws Exception {
+		mockMvc.perform(post("/api/payments/create-order")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"userId\":1,\"amount\":499.0,\"currency\":\"INR\"}"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.server_side.gateway;
+
+import com.ecommerce.server_side.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GatewayCallExecutorTest {
+	private GatewayCallExecutor executor;
+
+	private void start(int maxConcurrent, int queueCapacity, Duration timeout, int failureThreshold) {
+		executor = new GatewayCallExecutor(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(executor, "maxConcurrent", maxConcurrent);
+		ReflectionTestUtils.setField(executor, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(executor, "timeout", timeout);
+		ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+		ReflectionTestUtils.setField(executor, "initialBackoff", Duration.ofMillis(1));
+		ReflectionTestUtils.setField(executor, "maxBackoff", Duration.ofMillis(5));
+		ReflectionTestUtils.setField(executor, "failureThreshold", failureThreshold);
+		ReflectionTestUtils.setField(executor, "openDuration", Duration.ofMinutes(1));
+		executor.init();
+	}
+
+	@AfterEach
+	void stop() {
+		executor.shutdown();
+	}
+
+	private static Throwable failureOf(CompletableFuture<?> future) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		return e.getCause();
+	}
+
+	@Test
+	void idempotentCallsAreRetriedUntilTheySucceed() throws Exception {
+		start(2, 2, Duration.ofSeconds(5), 10);
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = executor.submit("test", true, () -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new PaymentGatewayException("connection reset", true);
+			}
+			return "order_1";
+		}).get(5, TimeUnit.SECONDS);
+
+		assertEquals("order_1", result);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	void nonIdempotentAndRejectedCallsAreNotRetried() {
+		start(2, 2, Duration.ofSeconds(5), 10);
+		AtomicInteger calls = new AtomicInteger();
+
+		Throwable transport = failureOf(executor.submit("test", false, () -> {
+			calls.incrementAndGet();
+			throw new PaymentGatewayException("connection reset", true);
+		}));
+		assertInstanceOf(ServiceUnavailableException.class, transport);
+		assertEquals(1, calls.get());
+
+		Throwable refused = failureOf(executor.submit("test", true, () -> {
+			calls.incrementAndGet();
+			throw new PaymentGatewayException("BAD_REQUEST_ERROR: amount", false);
+		}));
+		assertInstanceOf(PaymentGatewayException.class, refused);
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void openCircuitFailsFastWithoutCallingTheGateway() {
+		start(2, 2, Duration.ofSeconds(5), 2);
+		AtomicInteger calls = new AtomicInteger();
+
+		failureOf(executor.submit("test", true, () -> {
+			calls.incrementAndGet();
+			throw new PaymentGatewayException("gateway down", true);
+		}));
+		assertEquals(CircuitBreaker.State.OPEN, executor.getCircuitState());
+		int callsWhenOpened = calls.get();
+
+		Throwable failure = failureOf(executor.submit("test", true, () -> {
+			calls.incrementAndGet();
+			return "order_1";
+		}));
+		assertInstanceOf(ServiceUnavailableException.class, failure);
+		assertEquals(callsWhenOpened, calls.get());
+	}
+
+	@Test
+	void callsBeyondPoolAndQueueAreRefused() throws Exception {
+		start(1, 0, Duration.ofSeconds(5), 10);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> busy = executor.submit("test", true, () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "order_1";
+		});
+
+		Throwable failure = failureOf(executor.submit("test", true, () -> "order_2"));
+		assertInstanceOf(ServiceUnavailableException.class, failure);
+
+		release.countDown();
+		assertEquals("order_1", busy.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void slowGatewayTimesOutAsUnavailable() {
+		start(1, 1, Duration.ofMillis(100), 10);
+		StubPaymentGateway gateway = new StubPaymentGateway(Duration.ofSeconds(2), 0);
+
+		Throwable failure = failureOf(executor.submit("test", true,
+				() -> gateway.createOrder(new GatewayOrderRequest(100, "INR", "rcpt_1", null))));
+		assertInstanceOf(ServiceUnavailableException.class, failure);
+	}
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.Category;
+import com.ecommerce.server_side.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ProductCategoryFilterTest {
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@BeforeEach
+	void setUp() {
+		Category books = entityManager.persist(Category.builder().name("Books").build());
+		Category toys = entityManager.persist(Category.builder().name("Toys").build());
+		entityManager.persist(Product.builder().name("Novel").price(9.99).stock(5).categories(new LinkedHashSet<>(List.of(books))).build());
+		entityManager.persist(Product.builder().name("Kite").price(14.0).stock(5).categories(new LinkedHashSet<>(List.of(toys))).build());
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void categoryFilterIgnoresCase() {
+		for (String category : List.of("Books", "books", " BOOKS ")) {
+			List<Product> products = productRepository.findAll(ProductSpecifications.hasCategory(category));
+
+			assertEquals(List.of("Novel"), products.stream().map(Product::getName).toList(), category);
+		}
+	}
+
+	@Test
+	void categoryLookupIgnoresCase() {
+		List<Category> categories = categoryRepository.findByLowerNameIn(List.of("books", "toys", "games"));
+
+		assertEquals(Set.of("books", "toys"), Set.copyOf(categories.stream().map(Category::getName).toList()));
+	}
+
+	@Test
+	void namesAreStoredLowerCased() {
+		Category category = entityManager.persistFlushFind(Category.builder().name("  Garden Tools ").build());
+
+		assertEquals("garden tools", category.getName());
+	}
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryStockTest {
+	private static final int INITIAL_STOCK = 50;
+	private static final int THREADS = 16;
+	private static final int ATTEMPTS_PER_THREAD = 10;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		productRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentCheckoutsNeverOversellOneHotProduct() throws Exception {
+		Long productId = productRepository.save(Product.builder()
+				.name("Flash sale item")
+				.price(99.0)
+				.stock(INITIAL_STOCK)
+				.build()).getId();
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		AtomicInteger sold = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> workers = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+			workers.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+					List<Long> rejected = transaction.execute(status ->
+							productRepository.decrementStock(new TreeMap<>(Map.of(productId, 1))));
+					if (rejected.isEmpty()) {
+						sold.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> worker : workers) {
+			worker.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		int remaining = productRepository.findById(productId).orElseThrow().getStock();
+		assertEquals(0, remaining);
+		assertEquals(INITIAL_STOCK, sold.get());
+	}
+
+	@Test
+	void rejectsOnlyProductsWithoutEnoughStock() {
+		Long plenty = productRepository.save(Product.builder().name("Plenty").price(1.0).stock(10).build()).getId();
+		Long scarce = productRepository.save(Product.builder().name("Scarce").price(1.0).stock(1).build()).getId();
+
+		TreeMap<Long, Integer> quantities = new TreeMap<>();
+		quantities.put(plenty, 3);
+		quantities.put(scarce, 2);
+		List<Long> rejected = new TransactionTemplate(transactionManager)
+				.execute(status -> productRepository.decrementStock(quantities));
+
+		assertEquals(List.of(scarce), rejected);
+		assertEquals(7, productRepository.findById(plenty).orElseThrow().getStock());
+		assertEquals(1, productRepository.findById(scarce).orElseThrow().getStock());
+	}
+
+	@Test
+	void reservedUnitsAreNotAvailableUntilReleased() {
+		Long productId = productRepository.save(Product.builder().name("Held").price(1.0).stock(5).build()).getId();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		TreeMap<Long, Integer> four = new TreeMap<>(Map.of(productId, 4));
+		TreeMap<Long, Integer> two = new TreeMap<>(Map.of(productId, 2));
+
+		assertEquals(List.of(), transaction.execute(status -> productRepository.reserveStock(four)));
+		assertEquals(List.of(productId), transaction.execute(status -> productRepository.reserveStock(two)));
+		assertEquals(List.of(productId), transaction.execute(status -> productRepository.decrementStock(two)));
+		assertEquals(1, productRepository.findAvailableStock(List.of(productId)).get(productId));
+
+		transaction.executeWithoutResult(status -> productRepository.commitReservedStock(new TreeMap<>(Map.of(productId, 3))));
+		transaction.executeWithoutResult(status -> productRepository.releaseReservedStock(new TreeMap<>(Map.of(productId, 1))));
+
+		Product product = productRepository.findById(productId).orElseThrow();
+		assertEquals(2, product.getStock());
+		assertEquals(0, product.getReserved());
+		assertEquals(2, productRepository.findAvailableStock(List.of(productId)).get(productId));
+	}
+}
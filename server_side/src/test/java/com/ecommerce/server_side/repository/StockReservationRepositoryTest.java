@@ -0,0 +1,66 @@
+package com.ecommerce.server_side.repository;
+
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.StockReservation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class StockReservationRepositoryTest {
+	private static final int BATCH_SIZE = 3;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private StockReservationRepository reservationRepository;
+
+	@Test
+	void expiredHoldsOfPaidOrdersDoNotCrowdOutNewerExpiries() {
+		Instant expired = Instant.now().minusSeconds(60);
+		// A full batch of older, paid orders whose holds have not been converted yet
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			hold(order(OrderStatus.CONFIRMED), expired);
+		}
+		List<Long> releasable = new ArrayList<>();
+		releasable.add(hold(order(OrderStatus.PENDING), expired));
+		releasable.add(hold(order(OrderStatus.CANCELLED), expired));
+		hold(order(OrderStatus.PENDING), Instant.now().plusSeconds(600));
+		entityManager.flush();
+
+		List<Long> orderIds = reservationRepository.findExpiredOrderIds(Instant.now(),
+				EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED), PageRequest.of(0, BATCH_SIZE));
+
+		assertEquals(releasable, orderIds);
+	}
+
+	private Order order(OrderStatus status) {
+		return entityManager.persist(Order.builder()
+				.orderDate(LocalDateTime.now())
+				.status(status)
+				.paymentStatus("PENDING")
+				.build());
+	}
+
+	private Long hold(Order order, Instant expiresAt) {
+		entityManager.persist(StockReservation.builder()
+				.orderId(order.getId())
+				.productId(1L)
+				.quantity(1)
+				.expiresAt(expiresAt)
+				.build());
+		return order.getId();
+	}
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.server_side.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HmacSha256Test {
+	private static final byte[] DATA = "order_123|pay_456".getBytes(StandardCharsets.UTF_8);
+
+	private final HmacSha256 hmac = new HmacSha256("test_secret");
+
+	@Test
+	void acceptsItsOwnSignatureInEitherCase() {
+		String hex = HexFormat.of().formatHex(hmac.sign(DATA));
+
+		assertTrue(hmac.verifyHex(DATA, hex));
+		assertTrue(hmac.verifyHex(DATA, hex.toUpperCase()));
+	}
+
+	@Test
+	void rejectsTamperedMalformedAndMissingSignatures() {
+		String hex = HexFormat.of().formatHex(hmac.sign(DATA));
+		char last = hex.charAt(hex.length() - 1);
+		String tampered = hex.substring(0, hex.length() - 1) + (last == '0' ? '1' : '0');
+
+		assertFalse(hmac.verifyHex(DATA, tampered));
+		assertFalse(hmac.verifyHex(DATA, hex.substring(2)));
+		assertFalse(hmac.verifyHex(DATA, "zz" + hex.substring(2)));
+		assertFalse(hmac.verifyHex(DATA, null));
+		assertFalse(hmac.verifyHex("order_123|pay_457".getBytes(StandardCharsets.UTF_8), hex));
+	}
+}
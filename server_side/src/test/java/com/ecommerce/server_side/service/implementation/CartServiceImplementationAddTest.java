@@ -0,0 +1,84 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.CartDTO;
+import com.ecommerce.server_side.dto.CartItemDTO;
+import com.ecommerce.server_side.model.Cart;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.repository.CartItemRepository;
+import com.ecommerce.server_side.repository.CartRepository;
+import com.ecommerce.server_side.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The upsert itself is PostgreSQL-only (ON CONFLICT), so its outcomes are stubbed here
+class CartServiceImplementationAddTest {
+	private static final Long USER_ID = 1L;
+	private static final Long PRODUCT_ID = 7L;
+
+	private CartRepository cartRepository;
+	private CartItemRepository cartItemRepository;
+	private UserRepository userRepository;
+	private CartServiceImplementation cartService;
+
+	@BeforeEach
+	void setUp() {
+		cartRepository = mock(CartRepository.class);
+		cartItemRepository = mock(CartItemRepository.class);
+		userRepository = mock(UserRepository.class);
+		cartService = new CartServiceImplementation(cartRepository, cartItemRepository, userRepository);
+	}
+
+	@Test
+	void addingToAnExistingCartIsOneUpsert() {
+		when(cartItemRepository.addQuantity(USER_ID, PRODUCT_ID, 2)).thenReturn(1);
+		// Re-added after a repricing: the line keeps its original added price
+		when(cartItemRepository.findCartView(USER_ID)).thenReturn(List.of(
+				new CartItemDTO(PRODUCT_ID, "Lamp", null, 40.0, null, 3, 10, new BigDecimal("35.00"))));
+
+		CartDTO cart = cartService.addToCart(USER_ID, PRODUCT_ID, 2);
+
+		assertTrue(cart.getItems().get(0).isPriceChanged());
+		assertEquals(new BigDecimal("120.00"), cart.getTotal());
+		verify(cartRepository, never()).existsByUserId(any());
+		verify(cartRepository, never()).save(any());
+	}
+
+	@Test
+	void firstAddCreatesTheCartAndRetries() {
+		when(cartItemRepository.addQuantity(USER_ID, PRODUCT_ID, 1)).thenReturn(0, 1);
+		when(cartRepository.existsByUserId(USER_ID)).thenReturn(false);
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
+		when(cartItemRepository.findCartView(USER_ID)).thenReturn(List.of());
+
+		cartService.addToCart(USER_ID, PRODUCT_ID, 1);
+
+		verify(cartRepository).save(any(Cart.class));
+		verify(cartItemRepository, times(2)).addQuantity(USER_ID, PRODUCT_ID, 1);
+	}
+
+	@Test
+	void unknownProductIsRejectedWithoutCreatingACart() {
+		when(cartItemRepository.addQuantity(USER_ID, PRODUCT_ID, 1)).thenReturn(0);
+		when(cartRepository.existsByUserId(USER_ID)).thenReturn(true);
+
+		RuntimeException e = assertThrows(RuntimeException.class, () -> cartService.addToCart(USER_ID, PRODUCT_ID, 1));
+
+		assertEquals("Product not found", e.getMessage());
+		verify(cartRepository, never()).save(any());
+		verify(cartItemRepository, times(1)).addQuantity(USER_ID, PRODUCT_ID, 1);
+	}
+}
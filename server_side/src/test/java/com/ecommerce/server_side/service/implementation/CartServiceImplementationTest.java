@@ -0,0 +1,75 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.CartDTO;
+import com.ecommerce.server_side.dto.CartItemDTO;
+import com.ecommerce.server_side.model.Cart;
+import com.ecommerce.server_side.model.CartItem;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.CartService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CartServiceImplementationTest extends JpaServiceTest {
+	@Autowired
+	private CartService cartService;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser("shopper");
+		userId = user.getId();
+		Cart cart = persistCart(user);
+
+		// In stock, added at today's price
+		addLine(cart, persistProduct("Mug", 12.5, 10), 2, "12.50");
+		// Repriced since it was added
+		addLine(cart, persistProduct("Lamp", 40.0, 10), 1, "35.00");
+		// More wanted than there is
+		addLine(cart, persistProduct("Rug", 99.99, 1), 3, "99.99");
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void evaluatesEveryLineInOneQuery() {
+		statistics().clear();
+		CartDTO cart = cartService.getCartByUserId(userId);
+
+		assertEquals(1, statistics().getPrepareStatementCount());
+
+		CartItemDTO mug = cart.getItems().get(0);
+		assertEquals(new BigDecimal("25.00"), mug.getLineTotal());
+		assertFalse(mug.isOutOfStock());
+		assertFalse(mug.isPriceChanged());
+
+		CartItemDTO lamp = cart.getItems().get(1);
+		assertEquals(new BigDecimal("40.00"), lamp.getPrice());
+		assertTrue(lamp.isPriceChanged());
+
+		CartItemDTO rug = cart.getItems().get(2);
+		assertEquals(1, rug.getAvailableStock());
+		assertTrue(rug.isOutOfStock());
+
+		// 25.00 + 40.00 + 299.97
+		assertEquals(new BigDecimal("364.97"), cart.getTotal());
+	}
+
+	private void addLine(Cart cart, Product product, int quantity, String addedPrice) {
+		entityManager.persist(CartItem.builder()
+				.cart(cart)
+				.product(product)
+				.quantity(quantity)
+				.addedPrice(new BigDecimal(addedPrice))
+				.build());
+	}
+}
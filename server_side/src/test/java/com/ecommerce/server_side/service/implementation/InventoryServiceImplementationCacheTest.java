@@ -0,0 +1,59 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.repository.OrderItemRepository;
+import com.ecommerce.server_side.repository.ProductRepository;
+import com.ecommerce.server_side.repository.StockReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceImplementationCacheTest {
+	private static final Long PRODUCT_ID = 7L;
+
+	private ProductRepository productRepository;
+	private InventoryServiceImplementation inventoryService;
+
+	@BeforeEach
+	void setUp() {
+		productRepository = mock(ProductRepository.class);
+		inventoryService = new InventoryServiceImplementation(productRepository, mock(OrderItemRepository.class),
+				mock(StockReservationRepository.class), mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void repeatedReadsHitTheCache() {
+		when(productRepository.findAvailableStock(List.of(PRODUCT_ID))).thenReturn(Map.of(PRODUCT_ID, 5));
+
+		assertEquals(5, inventoryService.getAvailableStock(PRODUCT_ID));
+		assertEquals(5, inventoryService.getAvailableStock(PRODUCT_ID));
+
+		verify(productRepository, times(1)).findAvailableStock(List.of(PRODUCT_ID));
+	}
+
+	@Test
+	void loadRacingWithAnEvictionIsNotCached() {
+		// The stock changes and is evicted while the first read's query is in flight
+		when(productRepository.findAvailableStock(List.of(PRODUCT_ID)))
+				.thenAnswer(invocation -> {
+					inventoryService.evict(List.of(PRODUCT_ID));
+					return Map.of(PRODUCT_ID, 5);
+				})
+				.thenReturn(Map.of(PRODUCT_ID, 3));
+
+		assertEquals(5, inventoryService.getAvailableStock(PRODUCT_ID));
+		assertEquals(3, inventoryService.getAvailableStock(PRODUCT_ID));
+		assertEquals(3, inventoryService.getAvailableStock(PRODUCT_ID));
+
+		verify(productRepository, times(2)).findAvailableStock(List.of(PRODUCT_ID));
+	}
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.model.Cart;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.InventoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Shared setup for the service tests that run against H2: the order, cart and summary services
+ * with real repositories, inventory mocked, and Hibernate statistics on for query counting.
+ * Subclasses share one cached context unless they add properties of their own.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderServiceImplementation.class, CartServiceImplementation.class,
+		UserOrderSummaryServiceImplementation.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+abstract class JpaServiceTest {
+	@Autowired
+	protected TestEntityManager entityManager;
+
+	@MockitoBean
+	protected InventoryService inventoryService;
+
+	protected User persistUser(String username) {
+		return entityManager.persist(User.builder()
+				.username(username)
+				.password("secret")
+				.role("USER")
+				.enabled(true)
+				.build());
+	}
+
+	protected Cart persistCart(User user) {
+		return entityManager.persist(Cart.builder().user(user).build());
+	}
+
+	protected Product persistProduct(String name, double price, int stock) {
+		return entityManager.persist(Product.builder()
+				.name(name)
+				.price(price)
+				.stock(stock)
+				.build());
+	}
+
+	protected Statistics statistics() {
+		return entityManager.getEntityManager()
+				.getEntityManagerFactory()
+				.unwrap(SessionFactory.class)
+				.getStatistics();
+	}
+}
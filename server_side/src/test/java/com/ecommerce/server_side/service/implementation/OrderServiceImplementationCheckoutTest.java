@@ -0,0 +1,138 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.OrderItemDTO;
+import com.ecommerce.server_side.model.Cart;
+import com.ecommerce.server_side.model.CartItem;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.OrderService;
+import com.ecommerce.server_side.service.UserOrderSummaryService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.ecommerce.server_side.service.implementation.OrderServiceImplementationCheckoutTest$RecordingInspector")
+class OrderServiceImplementationCheckoutTest extends JpaServiceTest {
+	private static final int CART_LINES = 50;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private UserOrderSummaryService userOrderSummaryService;
+
+	private Long userId;
+	private Long firstProductId;
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser("b2b-buyer");
+		userId = user.getId();
+
+		Cart cart = persistCart(user);
+		for (int i = 0; i < CART_LINES; i++) {
+			Product product = persistProduct("Product " + i, 10.0 + i, 1000);
+			if (i == 0) {
+				firstProductId = product.getId();
+			}
+			entityManager.persist(CartItem.builder()
+					.cart(cart)
+					.product(product)
+					.quantity(2)
+					.build());
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+		RecordingInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void checkoutInsertsAllOrderLinesInOneBatch() {
+		OrderDTO order = orderService.checkoutCart(userId);
+		entityManager.flush();
+
+		long itemInserts = RecordingInspector.STATEMENTS.stream()
+				.filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("insert into order_item"))
+				.count();
+		// One prepared statement, executed as a single JDBC batch for all lines
+		assertEquals(1, itemInserts);
+		assertEquals((long) CART_LINES, entityManager.getEntityManager()
+				.createQuery("SELECT COUNT(i) FROM OrderItem i WHERE i.order.id = :orderId", Long.class)
+				.setParameter("orderId", order.getId())
+				.getSingleResult());
+	}
+
+	@Test
+	void orderKeepsCheckoutPricesAfterProductChanges() {
+		Long orderId = orderService.checkoutCart(userId).getId();
+		entityManager.flush();
+		entityManager.clear();
+
+		Product product = entityManager.find(Product.class, firstProductId);
+		product.setName("Renamed");
+		product.setPrice(99.99);
+		entityManager.flush();
+		entityManager.clear();
+
+		OrderDTO order = orderService.getOrderById(orderId);
+		OrderItemDTO line = order.getOrderItems().stream()
+				.filter(item -> item.getProductId().equals(firstProductId))
+				.findFirst()
+				.orElseThrow();
+		assertEquals("Product 0", line.getProductName());
+		assertEquals(new BigDecimal("10.00"), line.getProductPrice());
+		// 2 x (10.00 + 11.00 + ... + 59.00)
+		assertEquals(new BigDecimal("3450.00"), order.getTotalAmount());
+	}
+
+	@Test
+	void checkoutWritesTheOrderSummaryWithTheOrder() {
+		Long orderId = orderService.checkoutCart(userId).getId();
+		entityManager.flush();
+		entityManager.clear();
+
+		// Readable straight away, without waiting for the outbox dispatcher
+		OrderDTO summary = userOrderSummaryService.getOrderSummaries(userId, null, 1).getContent().get(0);
+		assertEquals(orderId, summary.getId());
+		assertEquals(CART_LINES, summary.getOrderItems().size());
+		assertEquals(new BigDecimal("3450.00"), summary.getTotalAmount());
+	}
+
+	@Test
+	void checkoutRejectsLinesBeyondAvailableStock() {
+		Product product = entityManager.find(Product.class, firstProductId);
+		product.setStock(1);
+		entityManager.flush();
+		entityManager.clear();
+
+		RuntimeException e = assertThrows(RuntimeException.class, () -> orderService.checkoutCart(userId));
+
+		assertEquals("Insufficient stock for product: Product 0", e.getMessage());
+		verifyNoInteractions(inventoryService);
+	}
+
+	// Sees every statement Hibernate prepares; a batch is prepared once however many rows it carries
+	public static class RecordingInspector implements StatementInspector {
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
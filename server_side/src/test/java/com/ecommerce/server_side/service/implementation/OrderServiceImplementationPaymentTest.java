@@ -0,0 +1,91 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderEventType;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplementationPaymentTest extends JpaServiceTest {
+	@Autowired
+	private OrderService orderService;
+
+	private Long orderId;
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser("buyer");
+		orderId = entityManager.persist(Order.builder()
+				.user(user)
+				.orderDate(LocalDateTime.now())
+				.status(OrderStatus.PENDING)
+				.paymentStatus("PENDING")
+				.build()).getId();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void repeatedPaymentConfirmationRecordsOnePaidEvent() {
+		orderService.updatePaymentStatus(orderId, "pay_1", "COMPLETED");
+		orderService.updatePaymentStatus(orderId, "pay_1", "COMPLETED");
+		OrderDTO order = orderService.updatePaymentStatus(orderId, "pay_1", "FAILED");
+
+		assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+		assertEquals("COMPLETED", order.getPaymentStatus());
+		assertEquals(1L, countEvents(OrderEventType.PAID));
+		assertEquals(0L, countEvents(OrderEventType.PAYMENT_FAILED));
+		// Stock moves when the outbox event is dispatched, not inside the payment transaction
+		verify(inventoryService, never()).confirm(any());
+	}
+
+	@Test
+	void redeliveredStockDeductionReducesStockOnce() {
+		orderService.updatePaymentStatus(orderId, "pay_1", "COMPLETED");
+		orderService.deductStock(orderId);
+		orderService.updateOrderStatus(orderId, OrderStatus.SHIPPED);
+		orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED);
+		orderService.deductStock(orderId);
+
+		assertEquals(1L, countEvents(OrderEventType.CONFIRMED));
+		verify(inventoryService, times(1)).confirm(orderId);
+	}
+
+	@Test
+	void paymentAfterExpiryIsFlaggedForRefundInsteadOfConfirmed() {
+		when(inventoryService.release(orderId)).thenReturn(true);
+		orderService.expireOrder(orderId);
+
+		orderService.updatePaymentStatus(orderId, "pay_1", "COMPLETED");
+		OrderDTO order = orderService.updatePaymentStatus(orderId, "pay_1", "COMPLETED");
+
+		assertEquals(OrderStatus.CANCELLED, order.getStatus());
+		assertEquals(OrderServiceImplementation.REFUND_REQUIRED, order.getPaymentStatus());
+		assertEquals("pay_1", order.getRazorpayPaymentId());
+		assertEquals(0L, countEvents(OrderEventType.PAID));
+		assertEquals(1L, countEvents(OrderEventType.STATUS_CHANGED));
+		verify(inventoryService, never()).confirm(any());
+	}
+
+	private long countEvents(OrderEventType type) {
+		entityManager.flush();
+		return entityManager.getEntityManager()
+				.createQuery("SELECT COUNT(e) FROM OrderEvent e WHERE e.orderId = :orderId AND e.type = :type", Long.class)
+				.setParameter("orderId", orderId)
+				.setParameter("type", type)
+				.getSingleResult();
+	}
+}
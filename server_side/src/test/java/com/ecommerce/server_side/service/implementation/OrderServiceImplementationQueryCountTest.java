@@ -0,0 +1,78 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.OrderFilter;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderItem;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderServiceImplementationQueryCountTest extends JpaServiceTest {
+	private static final int ORDERS = 10;
+	private static final int ITEMS_PER_ORDER = 5;
+
+	@Autowired
+	private OrderService orderService;
+
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser("buyer");
+		userId = user.getId();
+
+		List<Product> products = IntStream.range(0, ITEMS_PER_ORDER)
+				.mapToObj(i -> persistProduct("Product " + i, 10.0 + i, 100))
+				.toList();
+
+		for (int i = 0; i < ORDERS; i++) {
+			Order order = entityManager.persist(Order.builder()
+					.user(user)
+					.orderDate(LocalDateTime.now())
+					.status(OrderStatus.PENDING)
+					.build());
+			for (Product product : products) {
+				entityManager.persist(OrderItem.builder()
+						.order(order)
+						.product(product)
+						.quantity(1)
+						.build());
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+		statistics().clear();
+	}
+
+	@Test
+	void listingOrdersForUserIsOneQuery() {
+		List<OrderDTO> orders = orderService.getOrdersByUser(userId);
+
+		assertEquals(ORDERS, orders.size());
+		orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+		assertEquals(1, statistics().getPrepareStatementCount());
+	}
+
+	@Test
+	void adminOrderPageCostsThreeQueriesRegardlessOfSize() {
+		PageResponse<OrderDTO> page = orderService.getOrders(new OrderFilter(), 0, ORDERS / 2);
+
+		assertEquals(ORDERS / 2, page.getContent().size());
+		page.getContent().forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getOrderItems().size()));
+		// page of orders, count, then items and products for that page
+		assertEquals(3, statistics().getPrepareStatementCount());
+	}
+}
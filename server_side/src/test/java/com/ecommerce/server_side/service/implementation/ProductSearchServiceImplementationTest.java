@@ -0,0 +1,68 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.ProductDTO;
+import com.ecommerce.server_side.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchServiceImplementationTest {
+	private ProductSearchServiceImplementation searchService;
+
+	@BeforeEach
+	void setUp() {
+		ProductService productService = mock(ProductService.class);
+		when(productService.getAllProducts()).thenReturn(List.of(
+				product(1L, "Wireless Mouse", "Ergonomic mouse", List.of("Electronics")),
+				product(2L, "Mechanical Keyboard", "RGB keyboard for gaming", List.of("Electronics", "Gaming")),
+				product(3L, "Cotton T-Shirt", "Soft cotton", List.of("Clothing"))));
+		searchService = new ProductSearchServiceImplementation(productService);
+		searchService.rebuild();
+	}
+
+	@Test
+	void matchesPrefixesAndTypos() {
+		assertEquals(List.of(2L), ids(searchService.search("key", null, 10)));
+		assertEquals(List.of(2L), ids(searchService.search("keybaord", null, 10)));
+	}
+
+	@Test
+	void ranksProductsMatchingMoreTermsFirst() {
+		assertEquals(List.of(2L, 1L), ids(searchService.search("gaming electronics", null, 10)));
+	}
+
+	@Test
+	void filtersByCategory() {
+		assertEquals(List.of(3L), ids(searchService.search("cotton", "clothing", 10)));
+		assertTrue(searchService.search("cotton", "Electronics", 10).isEmpty());
+	}
+
+	@Test
+	void reflectsIncrementalUpdates() {
+		searchService.remove(1L);
+		assertTrue(searchService.search("wireless", null, 10).isEmpty());
+
+		searchService.index(product(2L, "Gaming Mouse", null, List.of()));
+		assertTrue(searchService.search("keyboard", null, 10).isEmpty());
+		assertEquals(List.of(2L), ids(searchService.search("mouse", null, 10)));
+	}
+
+	private static ProductDTO product(Long id, String name, String description, List<String> categories) {
+		return ProductDTO.builder()
+				.id(id)
+				.name(name)
+				.description(description)
+				.categories(categories)
+				.build();
+	}
+
+	private static List<Long> ids(List<ProductDTO> products) {
+		return products.stream().map(ProductDTO::getId).toList();
+	}
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.server_side.service.implementation;
+
+import com.ecommerce.server_side.dto.OrderDTO;
+import com.ecommerce.server_side.dto.PageResponse;
+import com.ecommerce.server_side.model.Order;
+import com.ecommerce.server_side.model.OrderItem;
+import com.ecommerce.server_side.model.OrderStatus;
+import com.ecommerce.server_side.model.Product;
+import com.ecommerce.server_side.model.User;
+import com.ecommerce.server_side.service.UserOrderSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserOrderSummaryServiceImplementationTest extends JpaServiceTest {
+	private static final int ORDERS = 5;
+
+	@Autowired
+	private UserOrderSummaryService userOrderSummaryService;
+
+	private Long userId;
+	private final List<Long> orderIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		User user = persistUser("returning");
+		userId = user.getId();
+		Product product = persistProduct("Kettle", 25.0, 10);
+
+		for (int i = 0; i < ORDERS; i++) {
+			Order order = entityManager.persist(Order.builder()
+					.user(user)
+					.orderDate(LocalDateTime.now())
+					.status(OrderStatus.PENDING)
+					.paymentStatus("PENDING")
+					.totalAmount(new BigDecimal("50.00"))
+					.build());
+			entityManager.persist(OrderItem.builder()
+					.order(order)
+					.product(product)
+					.quantity(2)
+					.unitPrice(new BigDecimal("25.00"))
+					.productName("Kettle")
+					.build());
+			orderIds.add(order.getId());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		orderIds.forEach(id -> userOrderSummaryService.refresh(entityManager.find(Order.class, id)));
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void pagesNewestFirstWithOneQueryPerPage() {
+		statistics().clear();
+		PageResponse<OrderDTO> first = userOrderSummaryService.getOrderSummaries(userId, null, 3);
+
+		assertEquals(1, statistics().getPrepareStatementCount());
+		assertEquals(List.of(orderIds.get(4), orderIds.get(3), orderIds.get(2)),
+				first.getContent().stream().map(OrderDTO::getId).toList());
+		assertFalse(first.isLast());
+		assertEquals("Kettle", first.getContent().get(0).getOrderItems().get(0).getProductName());
+
+		PageResponse<OrderDTO> second = userOrderSummaryService.getOrderSummaries(userId, first.getNextCursor(), 3);
+		assertEquals(List.of(orderIds.get(1), orderIds.get(0)),
+				second.getContent().stream().map(OrderDTO::getId).toList());
+		assertTrue(second.isLast());
+		assertNull(second.getNextCursor());
+	}
+
+	@Test
+	void refreshPicksUpStatusChanges() {
+		Long orderId = orderIds.get(4);
+		Order order = entityManager.find(Order.class, orderId);
+		order.setStatus(OrderStatus.SHIPPED);
+
+		userOrderSummaryService.refresh(order);
+		entityManager.flush();
+		entityManager.clear();
+
+		OrderDTO newest = userOrderSummaryService.getOrderSummaries(userId, null, 1).getContent().get(0);
+		assertEquals(orderId, newest.getId());
+		assertEquals(OrderStatus.SHIPPED, newest.getStatus());
+		assertEquals(new BigDecimal("50.00"), newest.getTotalAmount());
+	}
+}